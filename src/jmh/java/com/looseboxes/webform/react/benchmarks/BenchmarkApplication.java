@@ -0,0 +1,234 @@
+package com.looseboxes.webform.react.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looseboxes.webform.react.BatchPersister;
+import com.looseboxes.webform.react.WebformApplication;
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import com.looseboxes.webform.react.domain.Blog;
+import com.looseboxes.webform.react.domain.BlogType;
+import com.looseboxes.webform.react.domain.Post;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Boots the application against an in-memory H2 database, and drives the form
+ * stages exposed by <code>WebformControllerRest</code> in-process via MockMvc.
+ *
+ * @author hp
+ */
+public final class BenchmarkApplication implements AutoCloseable {
+
+    public static final String ACTION = "create";
+
+    private static final AtomicInteger DATABASE_COUNT = new AtomicInteger();
+
+    private static final AtomicInteger UNIQUE = new AtomicInteger();
+
+    private final ConfigurableApplicationContext context;
+
+    private final MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper;
+
+    private final Integer blogId;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext)context).build();
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.blogId = this.persistBlog();
+    }
+
+    /**
+     * @param properties Properties in addition to/overriding the defaults,
+     * each in the format <code>name=value</code>
+     * @return The started application
+     */
+    public static BenchmarkApplication start(String... properties) {
+        final List<String> all = new ArrayList<>(Arrays.asList(
+                "server.port=0",
+                "debug=false",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.com.looseboxes=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "spring.datasource.url=jdbc:h2:mem:benchmark" + DATABASE_COUNT.incrementAndGet() +
+                        ";DB_CLOSE_DELAY=-1;MODE=MYSQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE" +
+                        ";INIT=CREATE SCHEMA IF NOT EXISTS webformdb"));
+        all.addAll(Arrays.asList(properties));
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(WebformApplication.class)
+                .properties(all.toArray(new String[0]))
+                .run();
+        return new BenchmarkApplication(context);
+    }
+
+    private Integer persistBlog() {
+        final Blog blog = new Blog();
+        blog.setHandle("benchmark-blog");
+        blog.setType(BlogType.SPORTS);
+        blog.setEnabled(true);
+        blog.setTimeCreated(new Date());
+        new BatchPersister(this.getBean(EntityManagerFactory.class), 1)
+                .persistAll(Collections.singletonList(blog).iterator());
+        return blog.getId();
+    }
+
+    /**
+     * Persist posts to the blog created at start up
+     * @param count The number of posts to persist
+     */
+    public void persistPosts(int count) {
+        final Blog blog = new Blog();
+        blog.setId(blogId);
+        final List<Post> posts = new ArrayList<>(count);
+        for(int i=0; i<count; i++) {
+            final Post post = new Post();
+            post.setTitle("Post " + UNIQUE.incrementAndGet());
+            post.setContent(this.content(2048));
+            post.setBlog(blog);
+            post.setTimeCreated(new Date());
+            posts.add(post);
+        }
+        new BatchPersister(this.getBean(EntityManagerFactory.class), 50).persistAll(posts.iterator());
+    }
+
+    /**
+     * @param modelname The name of the model e.g <code>blog</code>
+     * @return Valid form values for the model, unique per call where the
+     * model requires it.
+     */
+    public Map<String, String> values(String modelname) {
+        final int unique = UNIQUE.incrementAndGet();
+        final Map<String, String> values = new LinkedHashMap<>();
+        switch(modelname.toLowerCase()) {
+            case "blog":
+                values.put("handle", "blog-" + unique);
+                values.put("description", "A blog created while benchmarking");
+                values.put("type", String.valueOf(BlogType.SPORTS.ordinal()));
+                values.put("enabled", "true");
+                break;
+            case "post":
+                values.put("title", "Post " + unique);
+                values.put("content", this.content(2048));
+                values.put("blog", String.valueOf(blogId));
+                break;
+            case "tag":
+                values.put("name", "tag-" + unique);
+                break;
+            case "blogsubtype":
+                values.put("name", "subtype-" + unique);
+                values.put("type", String.valueOf(BlogType.SPORTS.ordinal()));
+                break;
+            default:
+                throw new IllegalArgumentException("Unexpected model: " + modelname);
+        }
+        return values;
+    }
+
+    /**
+     * @param modelname The name of the model e.g <code>blog</code>
+     * @return The name of a property of the model which other properties may
+     * depend on.
+     */
+    public String dependentsPropertyName(String modelname) {
+        switch(modelname.toLowerCase()) {
+            case "blog": return "type";
+            case "post": return "blog";
+            case "tag": return "name";
+            case "blogsubtype": return "type";
+            default: throw new IllegalArgumentException("Unexpected model: " + modelname);
+        }
+    }
+
+    private String content(int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        while(builder.length() < length) {
+            builder.append("Lorem ipsum dolor sit amet. ");
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+
+    /**
+     * Begin a form, in the specified session.
+     * @return The id of the form begun
+     */
+    public String begin(MockHttpSession session, String modelname) throws Exception {
+        final MockHttpServletResponse response = mockMvc.perform(
+                MockMvcRequestBuilders.get(this.path(modelname, null)).session(session))
+                .andReturn().getResponse();
+        requireSuccess(response, "begin " + modelname);
+        return objectMapper.readTree(response.getContentAsString()).path("fid").asText();
+    }
+
+    public MockHttpServletRequestBuilder request(MockHttpSession session,
+            String modelname, String stage, String fid, Map<String, String> values) {
+        final MockHttpServletRequestBuilder builder = MockMvcRequestBuilders
+                .post(this.path(modelname, stage)).session(session)
+                .param("fid", fid);
+        values.forEach((name, value) -> builder.param(name, value));
+        return builder;
+    }
+
+    public MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    public String path(String modelname, String stage) {
+        final String path = WebformControllerConstants.API_BASEPATH + '/' + ACTION + '/' + modelname;
+        return stage == null ? path : path + '/' + stage;
+    }
+
+    public static MockHttpServletResponse requireSuccess(MockHttpServletResponse response, String description)
+            throws Exception {
+        if(response.getStatus() >= 300) {
+            throw new IllegalStateException(description + " failed with status: " +
+                    response.getStatus() + ", content: " + response.getContentAsString());
+        }
+        return response;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public MockMvc getMockMvc() {
+        return mockMvc;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public Integer getBlogId() {
+        return blogId;
+    }
+
+    /**
+     * @return The port of the embedded server, for benchmarks over HTTP
+     */
+    public int getPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.looseboxes.webform.react.benchmarks;
+
+import com.looseboxes.webform.react.converters.DateFormats;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing a date with the patterns of <code>webform.formats.*</code>:
+ * <code>legacy</code> tries each <code>java.text.DateFormat</code> in turn,
+ * catching the exception of each miss, <code>compiled</code> uses
+ * {@link DateFormats}. Each text matches a pattern at a different position
+ * in the list e.g first, middle, last, date only.
+ *
+ * @author hp
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateConversionBenchmark {
+
+    private static final List<String> DATETIME = Arrays.asList(
+            "yyyy-MM-dd'T'HH:mm:ss", "yyyy/MM/dd'T'HH:mm:ss", "yyyy-MM-dd'T'HH:mm", "yyyy/MM/dd'T'HH:mm",
+            "yyyy-MM-dd'T'HHmm", "yyyy/MM/dd'T'HHmm", "yyyy-MM-dd HH:mm:ss", "yyyy/MM/dd HH:mm:ss",
+            "yyyy-MM-dd HH:mm", "yyyy/MM/dd HH:mm", "yyyy-MM-dd HHmm", "yyyy/MM/dd HHmm");
+
+    private static final List<String> DATE = Arrays.asList("yyyy-MM-dd");
+
+    private static final List<String> TIME = Arrays.asList("HH:mm:ss", "HH:mm");
+
+    @Param({"2020-05-09T14:30:00", "2020-05-09 14:30", "2020/05/09 1430", "2020-05-09"})
+    public String text;
+
+    private List<DateFormat> legacy;
+
+    private DateFormats compiled;
+
+    @Setup
+    public void setUp() {
+        legacy = new ArrayList<>();
+        for(List<String> patterns : Arrays.asList(DATETIME, DATE, TIME)) {
+            for(String pattern : patterns) {
+                final DateFormat format = new SimpleDateFormat(pattern);
+                format.setLenient(false);
+                legacy.add(format);
+            }
+        }
+        compiled = new DateFormats(DATETIME, DATE, TIME, ZoneId.systemDefault());
+    }
+
+    @Benchmark
+    public Date legacy() {
+        for(DateFormat format : legacy) {
+            try{
+                final Date date = format.parse(text);
+                if(format.format(date).length() == text.length()) {
+                    return date;
+                }
+            }catch(ParseException ignored) { }
+        }
+        throw new IllegalArgumentException(text);
+    }
+
+    @Benchmark
+    public Date compiled() {
+        return compiled.parse(text);
+    }
+}
@@ -0,0 +1,185 @@
+package com.looseboxes.webform.react.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test of <code>validateSingle</code> over HTTP, with more concurrent
+ * clients than container threads, for each <code>webform.react.execution.mode</code>.
+ * Compare the p99 latency (SampleTime) and the count of requests answered
+ * with <code>503 Service Unavailable</code> (the <code>unavailable</code> counter).
+ *
+ * The <code>virtual</code> mode requires running on Java 21 or later, e.g:
+ * <code>-Djmh.args="ExecutionModeBenchmark -p mode=platform,async"</code> on older versions.
+ *
+ * @author hp
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(64)
+public class ExecutionModeBenchmark {
+
+    private static final String MODELNAME = "blog";
+
+    @State(Scope.Benchmark)
+    public static class App{
+
+        @Param({"platform", "async", "virtual"})
+        public String mode;
+
+        /** Container threads. Fewer than the benchmark threads */
+        @Param({"16"})
+        public int containerThreads;
+
+        private BenchmarkApplication app;
+
+        private String validateSinglePath;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            app = BenchmarkApplication.start(
+                    "webform.react.execution.mode=" + mode,
+                    "server.tomcat.max-threads=" + containerThreads,
+                    "server.tomcat.threads.max=" + containerThreads,
+                    "server.tomcat.accept-count=1000",
+                    "server.tomcat.max-connections=10000",
+                    "webform.react.trace.sampleRate=0.0");
+            validateSinglePath = app.path(MODELNAME, "validateSingle");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            app.close();
+        }
+    }
+
+    /**
+     * A form begun once per thread, in a session of its own.
+     */
+    @State(Scope.Thread)
+    public static class Client{
+
+        private String baseUrl;
+
+        private String cookie;
+
+        private byte [] body;
+
+        @Setup(Level.Trial)
+        public void setUp(App app) throws IOException {
+            baseUrl = "http://localhost:" + app.app.getPort();
+            final HttpURLConnection connection = open(app.app.path(MODELNAME, null));
+            final String response = readAll(connection);
+            if(connection.getResponseCode() >= 300) {
+                throw new IllegalStateException("begin failed with status: " +
+                        connection.getResponseCode() + ", content: " + response);
+            }
+            final String setCookie = connection.getHeaderField("Set-Cookie");
+            cookie = setCookie == null ? null : setCookie.split(";", 2)[0];
+            final String fid = app.app.getObjectMapper().readTree(response).path("fid").asText();
+            final String propertyName = app.app.dependentsPropertyName(MODELNAME);
+            final Map<String, String> params = new LinkedHashMap<>();
+            params.put("fid", fid);
+            params.put("propertyName", propertyName);
+            params.put(propertyName, app.app.values(MODELNAME).get(propertyName));
+            body = encode(params);
+        }
+
+        private HttpURLConnection open(String path) throws IOException {
+            final HttpURLConnection connection = (HttpURLConnection)new URL(baseUrl + path).openConnection();
+            if(cookie != null) {
+                connection.setRequestProperty("Cookie", cookie);
+            }
+            return connection;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes{
+        public long ok;
+        public long unavailable;
+        public long failed;
+    }
+
+    @Benchmark
+    public int validateSingle(App app, Client client, Outcomes outcomes) throws IOException {
+        final HttpURLConnection connection = client.open(app.validateSinglePath);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        try(OutputStream out = connection.getOutputStream()) {
+            out.write(client.body);
+        }
+        readAll(connection);
+        final int status = connection.getResponseCode();
+        if(status < 300) {
+            ++outcomes.ok;
+        }else if(status == HttpURLConnection.HTTP_UNAVAILABLE) {
+            ++outcomes.unavailable;
+        }else{
+            ++outcomes.failed;
+        }
+        return status;
+    }
+
+    /**
+     * Read the response fully, so that the connection is reused.
+     */
+    private static String readAll(HttpURLConnection connection) throws IOException {
+        final InputStream in = connection.getResponseCode() >= 400 ?
+                connection.getErrorStream() : connection.getInputStream();
+        if(in == null) {
+            return "";
+        }
+        try(InputStream input = in) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte [] buffer = new byte[4096];
+            int n;
+            while((n = input.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte [] encode(Map<String, String> params) throws UnsupportedEncodingException {
+        final StringBuilder builder = new StringBuilder();
+        for(Map.Entry<String, String> param : params.entrySet()) {
+            if(builder.length() > 0) {
+                builder.append('&');
+            }
+            builder.append(URLEncoder.encode(param.getKey(), "UTF-8")).append('=')
+                    .append(URLEncoder.encode(param.getValue(), "UTF-8"));
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
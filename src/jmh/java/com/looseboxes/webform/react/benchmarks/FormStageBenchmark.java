@@ -0,0 +1,128 @@
+package com.looseboxes.webform.react.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+/**
+ * Per-request cost of each of the form stages exposed by
+ * <code>WebformControllerRest</code>, for each model.
+ *
+ * Run with <code>mvn -Pjmh test-compile exec:exec</code>. The gc profiler
+ * reports the allocation rate alongside throughput and average time.
+ *
+ * @author hp
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormStageBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class App{
+
+        private BenchmarkApplication app;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            app = BenchmarkApplication.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            app.close();
+        }
+    }
+
+    /**
+     * A form begun once per iteration, in a session of its own per thread.
+     */
+    @State(Scope.Thread)
+    public static class Form{
+
+        @Param({"blog", "post", "tag", "blogsubtype"})
+        public String modelname;
+
+        private MockHttpSession session;
+
+        private String fid;
+
+        private Map<String, String> values;
+
+        private String propertyName;
+
+        private Map<String, String> singleValue;
+
+        @Setup(Level.Iteration)
+        public void setUp(App app) throws Exception {
+            session = new MockHttpSession();
+            fid = app.app.begin(session, modelname);
+            values = app.app.values(modelname);
+            propertyName = app.app.dependentsPropertyName(modelname);
+            singleValue = Collections.singletonMap(propertyName, values.get(propertyName));
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            session.invalidate();
+        }
+    }
+
+    @Benchmark
+    public String begin(App app, Form form) throws Exception {
+        return app.app.begin(form.session, form.modelname);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validateSingle(App app, Form form) throws Exception {
+        return BenchmarkApplication.requireSuccess(app.app.perform(
+                app.app.request(form.session, form.modelname, "validateSingle", form.fid, form.singleValue)
+                        .param("propertyName", form.propertyName)), "validateSingle");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse dependents(App app, Form form) throws Exception {
+        return BenchmarkApplication.requireSuccess(app.app.perform(
+                app.app.request(form.session, form.modelname, "dependents", form.fid, form.singleValue)
+                        .param("propertyName", form.propertyName)), "dependents");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validate(App app, Form form) throws Exception {
+        return BenchmarkApplication.requireSuccess(app.app.perform(
+                app.app.request(form.session, form.modelname, "validate", form.fid, form.values)),
+                "validate");
+    }
+
+    /**
+     * The full chain begin, validate, submit; each submit inserts a row, so
+     * unique values are generated per invocation.
+     */
+    @Benchmark
+    public MockHttpServletResponse submit(App app, Form form) throws Exception {
+        final String fid = app.app.begin(form.session, form.modelname);
+        final Map<String, String> values = app.app.values(form.modelname);
+        BenchmarkApplication.requireSuccess(app.app.perform(
+                app.app.request(form.session, form.modelname, "validate", fid, values)), "validate");
+        return BenchmarkApplication.requireSuccess(app.app.perform(
+                app.app.request(form.session, form.modelname, "submit", fid, Collections.emptyMap())),
+                "submit");
+    }
+}
@@ -0,0 +1,108 @@
+package com.looseboxes.webform.react.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import com.looseboxes.webform.react.services.BlogService;
+import com.looseboxes.webform.react.web.BlogWithRecentPosts;
+import com.looseboxes.webform.web.FormConfigDTO;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/**
+ * Latency and (with <code>-prof gc</code>) allocation of serializing the
+ * form config of a Blog, and a Blog with a page of its posts, with and 
+ * without <code>webform.react.json.highThroughput</code>.
+ *
+ * @author hp
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean highThroughput;
+
+    @Param({"20"})
+    public int posts;
+
+    private BenchmarkApplication app;
+
+    private ObjectWriter writer;
+
+    private BlogWithRecentPosts blogWithPosts;
+
+    private Object formConfig;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        app = BenchmarkApplication.start("webform.react.json.highThroughput=" + highThroughput);
+        app.persistPosts(posts);
+        writer = app.getObjectMapper().writer();
+        final BlogService blogService = app.getBean(BlogService.class);
+        blogWithPosts = blogService.findBlogWithRecentPosts(app.getBlogId(), posts)
+                .orElseThrow(() -> new IllegalStateException("Not found, blog: " + app.getBlogId()));
+        formConfig = this.beginRead();
+    }
+
+    /**
+     * Begin a form to read the blog, and return the form config held in the
+     * session, with the model object replaced by the blog.
+     */
+    private Object beginRead() throws Exception {
+        final MockHttpSession session = new MockHttpSession();
+        final MockHttpServletResponse response = app.perform(MockMvcRequestBuilders
+                .get(WebformControllerConstants.API_BASEPATH + "/read/blog")
+                .param("id", String.valueOf(app.getBlogId())).session(session));
+        BenchmarkApplication.requireSuccess(response, "begin read blog");
+        for(String name : Collections.list(session.getAttributeNames())) {
+            final Object value = session.getAttribute(name);
+            if(value instanceof FormConfigDTO) {
+                final BeanWrapper bean = new BeanWrapperImpl(value);
+                if(bean.isWritableProperty("modelobject")) {
+                    bean.setPropertyValue("modelobject", blogWithPosts.getBlog());
+                }
+                return value;
+            }
+        }
+        throw new IllegalStateException("No form config in session, attributes: " +
+                Collections.list(session.getAttributeNames()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public byte [] formConfig() throws Exception {
+        return writer.writeValueAsBytes(formConfig);
+    }
+
+    /** As served by <code>/blogs/{id}?graph=blog-with-recent-posts</code> */
+    @Benchmark
+    public byte [] blogWithPosts() throws Exception {
+        return writer.writeValueAsBytes(blogWithPosts);
+    }
+}
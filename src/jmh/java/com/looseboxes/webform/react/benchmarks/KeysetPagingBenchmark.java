@@ -0,0 +1,125 @@
+package com.looseboxes.webform.react.benchmarks;
+
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import com.looseboxes.webform.react.domain.Post;
+import com.looseboxes.webform.react.services.BlogService;
+import com.looseboxes.webform.react.services.KeysetPageService;
+import com.looseboxes.webform.react.web.KeysetPage;
+import com.looseboxes.webform.react.web.PostSummary;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/**
+ * Latency of a page of the posts of a blog, most recent first, at increasing
+ * depths: by offset, as <code>/blogs/{id}/posts?page=</code> was served,
+ * against by keyset, as <code>/blogs/{id}/posts?after=</code> is served. The
+ * keyset page should cost the same at every depth. The generic keyset page
+ * i.e <code>/pages/post?after=</code> is requested end to end.
+ *
+ * @author hp
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeysetPagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String OFFSET_QUERY =
+            "SELECT NEW com.looseboxes.webform.react.web.PostSummary(" +
+            "p.id, p.title, p.image, p.timeCreated, p.timeModified) " +
+            "FROM Post p WHERE p.blog.id = :blogId " +
+            "ORDER BY p.timeCreated DESC, p.id DESC";
+
+    /** The number of posts before the page */
+    @Param({"0", "2000", "20000"})
+    public int depth;
+
+    private BenchmarkApplication app;
+
+    private String after;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start();
+        app.persistPosts(depth + PAGE_SIZE);
+        after = this.walkTo(depth);
+    }
+
+    /**
+     * @return The token of the page at the specified depth
+     */
+    private String walkTo(int offset) {
+        final KeysetPageService service = app.getBean(KeysetPageService.class);
+        final Map<String, ?> filters = Collections.singletonMap("blog", app.getBlogId());
+        String token = null;
+        for(int walked = 0; walked < offset; ) {
+            final int limit = Math.min(service.getMaxLimit(), offset - walked);
+            final KeysetPage<Post> page = service.getPage(Post.class, 
+                    KeysetPageService.ORDER_BY_TIME_CREATED, filters, token, limit);
+            walked += page.getContent().size();
+            token = page.getNext();
+        }
+        return token;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public List<PostSummary> offset() {
+        final EntityManager entityManager = app.getBean(EntityManagerFactory.class).createEntityManager();
+        try{
+            return entityManager.createQuery(OFFSET_QUERY, PostSummary.class)
+                    .setParameter("blogId", app.getBlogId())
+                    .setFirstResult(depth)
+                    .setMaxResults(PAGE_SIZE + 1)
+                    .getResultList();
+        }finally{
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public KeysetPage<PostSummary> keyset() {
+        return app.getBean(BlogService.class).getPosts(app.getBlogId(), after, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse keysetPage() throws Exception {
+        final MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(WebformControllerConstants.PAGES_PATH + "/post")
+                .param("blog", String.valueOf(app.getBlogId()))
+                .param("orderBy", KeysetPageService.ORDER_BY_TIME_CREATED)
+                .param("limit", String.valueOf(PAGE_SIZE));
+        if(after != null) {
+            request.param("after", after);
+        }
+        return BenchmarkApplication.requireSuccess(app.perform(request), "keyset");
+    }
+}
@@ -0,0 +1,79 @@
+package com.looseboxes.webform.react.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+/**
+ * Cost of <code>validateSingle</code> and <code>dependents</code> with all
+ * the form values submitted, as the client does, with and without
+ * <code>webform.react.binding.partial</code>.
+ *
+ * @author hp
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartialBindingBenchmark {
+
+    @Param({"true", "false"})
+    public boolean partial;
+
+    @Param({"post", "blog"})
+    public String modelname;
+
+    private BenchmarkApplication app;
+
+    private MockHttpSession session;
+
+    private String fid;
+
+    private Map<String, String> values;
+
+    private String propertyName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        app = BenchmarkApplication.start("webform.react.binding.partial=" + partial);
+        session = new MockHttpSession();
+        fid = app.begin(session, modelname);
+        values = app.values(modelname);
+        propertyName = app.dependentsPropertyName(modelname);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validateSingle() throws Exception {
+        return BenchmarkApplication.requireSuccess(app.perform(
+                app.request(session, modelname, "validateSingle", fid, values)
+                        .param("propertyName", propertyName)), "validateSingle");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse dependents() throws Exception {
+        return BenchmarkApplication.requireSuccess(app.perform(
+                app.request(session, modelname, "dependents", fid, values)
+                        .param("propertyName", propertyName)), "dependents");
+    }
+}
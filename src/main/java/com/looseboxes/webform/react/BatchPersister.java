@@ -0,0 +1,66 @@
+package com.looseboxes.webform.react;
+
+import java.util.Iterator;
+import java.util.Objects;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+/**
+ * Persists entities in a single transaction, flushing and clearing the
+ * persistence context after every <code>batchSize</code> entities.
+ *
+ * For the inserts to actually be sent as JDBC batches, the entity id must not
+ * be IDENTITY generated and <code>hibernate.jdbc.batch_size</code> should
+ * be set.
+ *
+ * @author hp
+ */
+public class BatchPersister {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final int batchSize;
+
+    public BatchPersister(EntityManagerFactory entityManagerFactory, int batchSize) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory);
+        if(batchSize < 1) {
+            throw new IllegalArgumentException("Batch size < 1, found: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param entities The entities to persist. Consumed lazily, so only one
+     * batch of entities is held in the persistence context at any time.
+     * @return The number of entities persisted
+     */
+    public int persistAll(Iterator<?> entities) {
+        final EntityManager em = entityManagerFactory.createEntityManager();
+        final EntityTransaction tx = em.getTransaction();
+        int count = 0;
+        try{
+            tx.begin();
+            while(entities.hasNext()) {
+                em.persist(entities.next());
+                if(++count % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            tx.commit();
+        }catch(RuntimeException e) {
+            if(tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        }finally{
+            em.close();
+        }
+        return count;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,181 @@
+package com.looseboxes.webform.react;
+
+import com.looseboxes.webform.react.domain.BlogSubtype;
+import com.looseboxes.webform.react.domain.BlogType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Idempotently seeds the {@link BlogSubtype} reference data.
+ *
+ * Each {@link BlogType} is a partition, seeded on its own thread of a bounded
+ * executor. The names of the rows already present are read for all
+ * partitions by a single query. A partition is skipped when the fingerprint
+ * (count and SHA-256 digest of the sorted names) of its rows matches that of
+ * the expected rows. Otherwise only the missing rows are inserted.
+ *
+ * @author hp
+ */
+public class BlogSubtypeSeeder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlogSubtypeSeeder.class);
+
+    private static final class Fingerprint{
+        private final int count;
+        private final byte [] digest;
+        private Fingerprint(int count, byte [] digest) {
+            this.count = count;
+            this.digest = digest;
+        }
+        /**
+         * Sorted here rather than by the query, as the collation of the
+         * database may differ from the natural order of the names
+         */
+        private static Fingerprint of(List<String> names) {
+            final MessageDigest digest;
+            try{
+                digest = MessageDigest.getInstance("SHA-256");
+            }catch(NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            final List<String> sorted = new ArrayList<>(names);
+            Collections.sort(sorted);
+            for(String name : sorted) {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                // Separates the names, so that e.g [ab, c] and [a, bc] differ
+                digest.update((byte)0);
+            }
+            return new Fingerprint(sorted.size(), digest.digest());
+        }
+        private boolean matches(Fingerprint other) {
+            return count == other.count && Arrays.equals(digest, other.digest);
+        }
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final int subtypesPerType;
+
+    private final int batchSize;
+
+    private final int maxThreads;
+
+    public BlogSubtypeSeeder(EntityManagerFactory entityManagerFactory,
+            int subtypesPerType, int batchSize, int maxThreads) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory);
+        this.subtypesPerType = subtypesPerType;
+        this.batchSize = batchSize;
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * @return The number of rows inserted. Zero, if all the reference data
+     * was already present.
+     */
+    public int seed() {
+        final BlogType [] blogTypes = BlogType.values();
+        final int threads = Math.max(1, Math.min(blogTypes.length, maxThreads));
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, (runnable) -> {
+            final Thread thread = new Thread(runnable, "seed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try{
+            final Map<BlogType, List<String>> existingNames = this.getExistingNames();
+            final List<Future<Integer>> futures = new ArrayList<>(blogTypes.length);
+            for(BlogType type : blogTypes) {
+                final List<String> existing = existingNames.getOrDefault(type, Collections.emptyList());
+                futures.add(executor.submit(() -> this.seed(type, existing)));
+            }
+            int count = 0;
+            for(Future<Integer> future : futures) {
+                count += future.get();
+            }
+            return count;
+        }catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding " +
+                    BlogSubtype.class.getSimpleName(), e);
+        }catch(ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException)cause :
+                    new IllegalStateException(cause);
+        }finally{
+            executor.shutdownNow();
+        }
+    }
+
+    private int seed(BlogType type, List<String> existing) {
+
+        final List<String> expected = this.getExpectedNames(type);
+
+        if(Fingerprint.of(existing).matches(Fingerprint.of(expected))) {
+            LOG.debug("Skipping {} {}, {} rows already present",
+                    type, BlogSubtype.class.getSimpleName(), existing.size());
+            return 0;
+        }
+
+        if(existing.size() > expected.size()) {
+            LOG.warn("Found {} {} {} rows, expected {}", existing.size(), type,
+                    BlogSubtype.class.getSimpleName(), expected.size());
+        }
+
+        final Set<String> present = new HashSet<>(existing);
+        final Iterator<BlogSubtype> missing = expected.stream()
+                .filter((name) -> ! present.contains(name))
+                .map((name) -> new BlogSubtype().type(type).name(name))
+                .iterator();
+
+        final int count = new BatchPersister(entityManagerFactory, batchSize).persistAll(missing);
+        LOG.debug("Inserted {} {} {} rows", count, type, BlogSubtype.class.getSimpleName());
+        return count;
+    }
+
+    public List<String> getExpectedNames(BlogType type) {
+        return IntStream.range(0, subtypesPerType)
+                .mapToObj((i) -> type + " sub type " + i)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The names of the rows of each partition with rows
+     */
+    public Map<BlogType, List<String>> getExistingNames() {
+        final EntityManager em = entityManagerFactory.createEntityManager();
+        try{
+            final List<Object[]> rows = em.createQuery(
+                    "SELECT s.type, s.name FROM BlogSubtype s", Object[].class)
+                    .getResultList();
+            final Map<BlogType, List<String>> names = new EnumMap<>(BlogType.class);
+            for(Object [] row : rows) {
+                names.computeIfAbsent((BlogType)row[0], (k) -> new ArrayList<>()).add((String)row[1]);
+            }
+            return names;
+        }finally{
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.looseboxes.webform.react;
+
+import com.looseboxes.webform.react.domain.DomainTypes;
+import com.looseboxes.webform.web.FormConfigDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.Predicate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+/**
+ * Holds the in-flight state of forms i.e each <code>FormConfigDTO</code> and
+ * model object the form flow keeps in the session, in a bounded
+ * {@link FormStateStore}, via a {@link FormStateSessionRepository}. All other
+ * session attributes remain on the heap. This is transparent to
+ * <code>FormControllerRest</code>.
+ *
+ * To plug in another store, declare a bean of type {@link FormStateStore}.
+ * To use the container's sessions instead, set <code>webform.react.formstate.enabled=false</code>.
+ *
+ * @author hp
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "webform.react.formstate.enabled", havingValue = "true", matchIfMissing = true)
+public class FormSessionConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(FormStateStore.class)
+    public OffHeapFormStateStore formStateStore(Environment env, MeterRegistry meterRegistry) {
+        return new OffHeapFormStateStore(
+                env.getProperty("webform.react.formstate.maxEntries", Integer.class, 10_000),
+                env.getProperty("webform.react.formstate.maxBytes", Long.class, 64L * 1024 * 1024),
+                env.getProperty("webform.react.formstate.blockSize", Integer.class, 4096),
+                this.getSessionTimeout(env), meterRegistry);
+    }
+
+    @Bean public FormStateSessionRepository sessionRepository(FormStateStore formStateStore, Environment env) {
+        final Predicate<Object> formStateTest = (value) -> value instanceof FormConfigDTO ||
+                DomainTypes.getEntityTypes().stream().anyMatch((type) -> type.isInstance(value));
+        return new FormStateSessionRepository(formStateStore, formStateTest, this.getSessionTimeout(env),
+                env.getProperty("webform.react.formstate.lockTimeoutMillis", Long.class, 30_000L));
+    }
+
+    private Duration getSessionTimeout(Environment env) {
+        return env.getProperty("server.servlet.session.timeout", Duration.class, Duration.ofMinutes(30));
+    }
+}
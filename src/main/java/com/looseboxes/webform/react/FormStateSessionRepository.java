@@ -0,0 +1,475 @@
+package com.looseboxes.webform.react;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+/**
+ * A {@link SessionRepository} which holds the in-flight state of forms i.e
+ * session attributes matching the form state test, serialized in a
+ * {@link FormStateStore}, and all other attributes on the heap. The session
+ * itself holds only a reference to the state of each form.
+ *
+ * Only the states accessed by a request are deserialized, and only those
+ * changed by the request are written back. Form states are accessed under a
+ * lock per session, held from first access until the session is saved, so
+ * that concurrent stages of a session do not overwrite each other's updates.
+ * Other attributes are merged into the stored session by name, on save.
+ *
+ * A form state which is not serializable fails the request, rather than
+ * being held on the heap.
+ *
+ * @author hp
+ */
+public class FormStateSessionRepository implements SessionRepository<FormStateSessionRepository.FormStateSession> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FormStateSessionRepository.class);
+
+    /** Holds the key of the session's form states, which unlike its id never changes */
+    private static final String KEY = FormStateSessionRepository.class.getName() + ".key";
+
+    /** Serialization buffers larger than this are not reused */
+    private static final int MAX_POOLED_BUFFER = 1024 * 1024;
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    private final Map<String, MapSession> sessions = new ConcurrentHashMap<>();
+
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    private final FormStateStore store;
+
+    private final Predicate<Object> formStateTest;
+
+    private final Duration defaultMaxInactiveInterval;
+
+    private final long lockTimeoutMillis;
+
+    /**
+     * @param store Holds the form states
+     * @param formStateTest Tests if a session attribute value is form state
+     * @param defaultMaxInactiveInterval Of new sessions
+     * @param lockTimeoutMillis Of a request waiting for another request of the
+     * same session to save its form states
+     */
+    public FormStateSessionRepository(FormStateStore store, Predicate<Object> formStateTest,
+            Duration defaultMaxInactiveInterval, long lockTimeoutMillis) {
+        this.store = Objects.requireNonNull(store);
+        this.formStateTest = Objects.requireNonNull(formStateTest);
+        this.defaultMaxInactiveInterval = Objects.requireNonNull(defaultMaxInactiveInterval);
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    @Override
+    public FormStateSession createSession() {
+        final MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        session.setAttribute(KEY, UUID.randomUUID().toString());
+        return new FormStateSession(session, true);
+    }
+
+    @Override
+    public void save(FormStateSession session) {
+        try{
+            session.saveFormStates();
+            final MapSession delegate = session.delegate;
+            if( ! delegate.getId().equals(delegate.getOriginalId())) {
+                final MapSession previous = sessions.remove(delegate.getOriginalId());
+                if(previous != null) {
+                    sessions.putIfAbsent(delegate.getId(), previous);
+                }
+            }
+            sessions.compute(delegate.getId(), (id, stored) -> session.mergeInto(stored));
+            session.saved();
+        }finally{
+            session.unlock();
+        }
+    }
+
+    @Override
+    public FormStateSession findById(String id) {
+        final MapSession stored = sessions.get(id);
+        if(stored == null) {
+            return null;
+        }
+        if(stored.isExpired()) {
+            this.delete(id, stored);
+            return null;
+        }
+        return new FormStateSession(new MapSession(stored), false);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        final MapSession stored = sessions.get(id);
+        if(stored != null) {
+            this.delete(id, stored);
+        }
+    }
+
+    /**
+     * Delete all sessions which have been inactive for longer than their max
+     * inactive interval, along with their form states.
+     * @return The number of sessions deleted
+     */
+    @Scheduled(fixedDelayString = "${webform.react.formstate.evictionIntervalMillis:60000}")
+    public int deleteExpired() {
+        int count = 0;
+        for(Map.Entry<String, MapSession> entry : sessions.entrySet()) {
+            if(entry.getValue().isExpired()) {
+                this.delete(entry.getKey(), entry.getValue());
+                ++count;
+            }
+        }
+        if(count > 0) {
+            LOG.debug("Deleted {} expired sessions", count);
+        }
+        return count;
+    }
+
+    private void delete(String id, MapSession stored) {
+        if( ! sessions.remove(id, stored)) {
+            return;
+        }
+        for(String name : stored.getAttributeNames()) {
+            final Object value = stored.getAttribute(name);
+            if(value instanceof FormStateRef) {
+                store.remove(((FormStateRef)value).key);
+            }
+        }
+        final String key = stored.getAttribute(KEY);
+        final ReentrantLock lock = key == null ? null : locks.remove(key);
+        if(lock != null && lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Stands in the session for a form state held in the store.
+     */
+    private static final class FormStateRef implements Serializable{
+        private static final long serialVersionUID = 1L;
+        private final String key;
+        private FormStateRef(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * A form state accessed by the current request.
+     */
+    private static final class Loaded{
+        private final String key;
+        private final Object value;
+        /** As read from, or last written to, the store. Null if never */
+        private byte [] stored;
+        private Loaded(String key, Object value, byte [] stored) {
+            this.key = key;
+            this.value = value;
+            this.stored = stored;
+        }
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream{
+        private Buffer() {
+            super(8192);
+        }
+        private byte [] array() {
+            return buf;
+        }
+        private boolean contentEquals(byte [] other) {
+            if(other == null || other.length != count) {
+                return false;
+            }
+            for(int i = 0; i < count; i++) {
+                if(buf[i] != other[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A session, as seen by a single request.
+     */
+    public final class FormStateSession implements Session{
+
+        private final MapSession delegate;
+
+        private final boolean isNew;
+
+        /** The names of the attributes set or removed by this request */
+        private final Set<String> changed = new HashSet<>();
+
+        private final Map<String, Loaded> loaded = new HashMap<>();
+
+        private final List<String> removedKeys = new ArrayList<>();
+
+        private ReentrantLock lock;
+
+        private FormStateSession(MapSession delegate, boolean isNew) {
+            this.delegate = delegate;
+            this.isNew = isNew;
+        }
+
+        @Override
+        public <T> T getAttribute(String name) {
+            final Loaded state = loaded.get(name);
+            if(state != null) {
+                return (T)state.value;
+            }
+            if( ! (delegate.getAttribute(name) instanceof FormStateRef)) {
+                return delegate.getAttribute(name);
+            }
+            this.lock();
+            final Object value = delegate.getAttribute(name);
+            if( ! (value instanceof FormStateRef)) {
+                return (T)value;
+            }
+            final String key = ((FormStateRef)value).key;
+            final byte [] bytes = store.get(key);
+            if(bytes == null) {
+                LOG.debug("Form state evicted, attribute: {}", name);
+                return null;
+            }
+            final Object formState = deserialize(bytes);
+            loaded.put(name, new Loaded(key, formState, bytes));
+            return (T)formState;
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if(value == null) {
+                this.removeAttribute(name);
+                return;
+            }
+            final Object previous = delegate.getAttribute(name);
+            if(formStateTest.test(value)) {
+                this.lock();
+                final Loaded state = loaded.get(name);
+                final String key = previous instanceof FormStateRef ? ((FormStateRef)previous).key :
+                        delegate.getAttribute(KEY) + "/" + name;
+                loaded.put(name, new Loaded(key, value, state == null ? null : state.stored));
+                delegate.setAttribute(name, new FormStateRef(key));
+            }else{
+                this.removeFormState(name, previous);
+                delegate.setAttribute(name, value);
+            }
+            changed.add(name);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            this.removeFormState(name, delegate.getAttribute(name));
+            delegate.removeAttribute(name);
+            changed.add(name);
+        }
+
+        private void removeFormState(String name, Object previous) {
+            loaded.remove(name);
+            if(previous instanceof FormStateRef) {
+                this.lock();
+                removedKeys.add(((FormStateRef)previous).key);
+            }
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames().stream()
+                    .filter((name) -> ! KEY.equals(name)).collect(Collectors.toSet());
+        }
+
+        /**
+         * Writes the form states changed by this request, if any, to the store
+         */
+        private void saveFormStates() {
+            for(Loaded state : loaded.values()) {
+                final Buffer buffer = serialize(state.value);
+                try{
+                    if(buffer.contentEquals(state.stored)) {
+                        continue;
+                    }
+                    this.lock();
+                    store.put(state.key, buffer.array(), buffer.size());
+                    state.stored = buffer.toByteArray();
+                }finally{
+                    release(buffer);
+                }
+            }
+            for(String key : removedKeys) {
+                store.remove(key);
+            }
+            removedKeys.clear();
+        }
+
+        /**
+         * @return The stored session, with the changes of this request applied
+         */
+        private MapSession mergeInto(MapSession stored) {
+            if(stored == null) {
+                return new MapSession(delegate);
+            }
+            final MapSession merged = new MapSession(stored);
+            for(String name : changed) {
+                merged.setAttribute(name, delegate.getAttribute(name));
+            }
+            if(delegate.getLastAccessedTime().isAfter(merged.getLastAccessedTime())) {
+                merged.setLastAccessedTime(delegate.getLastAccessedTime());
+            }
+            merged.setMaxInactiveInterval(delegate.getMaxInactiveInterval());
+            return merged;
+        }
+
+        private void saved() {
+            changed.clear();
+        }
+
+        /**
+         * Locks the form states of the session for the rest of the request,
+         * then refreshes the attributes not changed by this request, as
+         * another request of the session may have saved since this was read.
+         */
+        private void lock() {
+            if(lock != null) {
+                return;
+            }
+            final ReentrantLock sessionLock = locks.computeIfAbsent(
+                    (String)delegate.getAttribute(KEY), (key) -> new ReentrantLock());
+            try{
+                if( ! sessionLock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Timed out waiting for the form state of session: " + delegate.getId());
+                }
+            }catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the form state of session: " + delegate.getId(), e);
+            }
+            lock = sessionLock;
+            final MapSession stored = isNew ? null : sessions.get(delegate.getOriginalId());
+            if(stored != null) {
+                for(String name : delegate.getAttributeNames()) {
+                    if( ! changed.contains(name) && stored.getAttribute(name) == null) {
+                        delegate.removeAttribute(name);
+                    }
+                }
+                for(String name : stored.getAttributeNames()) {
+                    if( ! changed.contains(name)) {
+                        delegate.setAttribute(name, stored.getAttribute(name));
+                    }
+                }
+            }
+        }
+
+        private void unlock() {
+            if(lock != null) {
+                final ReentrantLock sessionLock = lock;
+                lock = null;
+                if(sessionLock.isHeldByCurrentThread()) {
+                    sessionLock.unlock();
+                }
+            }
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            delegate.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+
+    private static Buffer serialize(Object value) {
+        final Buffer buffer = BUFFER.get();
+        buffer.reset();
+        try(ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(value);
+        }catch(NotSerializableException e) {
+            throw new IllegalStateException("Form state is not serializable: " +
+                    value.getClass().getName() + ", found: " + e.getMessage(), e);
+        }catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    private static void release(Buffer buffer) {
+        if(buffer.array().length > MAX_POOLED_BUFFER) {
+            BUFFER.remove();
+        }
+    }
+
+    private Object deserialize(byte [] bytes) {
+        try(ObjectInputStream in = new ConfigurableObjectInputStream(
+                new ByteArrayInputStream(bytes), this.getClass().getClassLoader())) {
+            return in.readObject();
+        }catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }catch(ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
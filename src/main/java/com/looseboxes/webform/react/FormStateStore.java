@@ -0,0 +1,28 @@
+package com.looseboxes.webform.react;
+
+/**
+ * Holds the serialized in-flight state of forms i.e the <code>FormConfigDTO</code>
+ * and model object of each form, outside the session. Implementations are
+ * bounded, and may evict any entry, in which case the form is treated as
+ * expired.
+ *
+ * @author hp
+ */
+public interface FormStateStore {
+
+    /**
+     * @param key Identifies the form, within its session
+     * @return A copy of the serialized state held for the key, or <code>null</code>
+     * if none is held e.g it was evicted
+     */
+    byte [] get(String key);
+
+    /**
+     * @param key Identifies the form, within its session
+     * @param state The serialized state, from index 0
+     * @param length The number of bytes of the state
+     */
+    void put(String key, byte [] state, int length);
+
+    void remove(String key);
+}
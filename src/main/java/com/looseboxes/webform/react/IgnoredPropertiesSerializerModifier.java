@@ -0,0 +1,59 @@
+package com.looseboxes.webform.react;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.MapSerializer;
+import com.fasterxml.jackson.databind.type.MapType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Removes the ignored properties from the serializer of each bean type, and
+ * the entries of the same names from the serializer of each map type e.g
+ * the model of a form config. Jackson builds the serializer of a type once
+ * and caches it, so the properties are matched once per type rather than on
+ * every serialization.
+ * 
+ * @author hp
+ */
+public class IgnoredPropertiesSerializerModifier extends BeanSerializerModifier{
+    
+    private final Set<String> ignoredProperties;
+
+    public IgnoredPropertiesSerializerModifier(Set<String> ignoredProperties) {
+        this.ignoredProperties = Objects.requireNonNull(ignoredProperties);
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, 
+            BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+        if(ignoredProperties.isEmpty()) {
+            return beanProperties;
+        }
+        final List<BeanPropertyWriter> retained = new ArrayList<>(beanProperties.size());
+        for(BeanPropertyWriter property : beanProperties) {
+            if( ! ignoredProperties.contains(property.getName())) {
+                retained.add(property);
+            }
+        }
+        return retained;
+    }
+
+    @Override
+    public JsonSerializer<?> modifyMapSerializer(SerializationConfig config, 
+            MapType valueType, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        if(ignoredProperties.isEmpty() || serializer.getClass() != MapSerializer.class) {
+            return serializer;
+        }
+        final MapSerializer mapSerializer = (MapSerializer)serializer;
+        // The key serializer is resolved when the serializer is contextualized
+        return mapSerializer.withResolved(null, null, mapSerializer.getContentSerializer(), 
+                ignoredProperties, config.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS));
+    }
+}
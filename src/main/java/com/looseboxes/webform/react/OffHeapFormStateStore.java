@@ -0,0 +1,234 @@
+package com.looseboxes.webform.react;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * A {@link FormStateStore} which holds each state in fixed size blocks of
+ * direct (off-heap) slabs, so that the state of abandoned forms does not
+ * accumulate on the heap.
+ *
+ * The slabs are allocated as first needed, up to the max bytes, and never
+ * released, so storing a state allocates no direct memory once warm. When
+ * either the max entries or the free blocks are exhausted, the least recently
+ * accessed states are evicted. States not accessed for longer than the time
+ * to idle are evicted on access, and by {@link #evictExpired()}.
+ *
+ * Direct memory is bounded by <code>-XX:MaxDirectMemorySize</code>, which
+ * should be greater than the max bytes of this store.
+ *
+ * @author hp
+ */
+public class OffHeapFormStateStore implements FormStateStore{
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapFormStateStore.class);
+
+    private static final int MAX_SLAB_BYTES = 16 * 1024 * 1024;
+
+    private static final class Entry{
+        private final int [] blocks;
+        private final int length;
+        private long lastAccessedMillis;
+        private Entry(int [] blocks, int length, long lastAccessedMillis) {
+            this.blocks = blocks;
+            this.length = length;
+            this.lastAccessedMillis = lastAccessedMillis;
+        }
+    }
+
+    /** Guarded by this. In access order i.e least recently accessed first */
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final int maxEntries;
+
+    private final int blockSize;
+
+    private final int blocksPerSlab;
+
+    private final int totalBlocks;
+
+    private final long timeToIdleMillis;
+
+    private final ByteBuffer [] slabs;
+
+    /** Blocks released by removed entries, reused before any not yet used */
+    private final int [] freeBlocks;
+
+    private int freeCount;
+
+    /** The number of blocks handed out at least once */
+    private int usedBlocks;
+
+    private long bytes;
+
+    private final Counter sizeEvictions;
+
+    private final Counter expiryEvictions;
+
+    public OffHeapFormStateStore(int maxEntries, long maxBytes, int blockSize,
+            Duration timeToIdle, MeterRegistry meterRegistry) {
+        if(blockSize <= 0 || blockSize > MAX_SLAB_BYTES) {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+        final long blocks = maxBytes / blockSize;
+        if(blocks < 1 || blocks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid max bytes: " + maxBytes + ", for block size: " + blockSize);
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.maxEntries = maxEntries;
+        this.blockSize = blockSize;
+        this.blocksPerSlab = MAX_SLAB_BYTES / blockSize;
+        this.totalBlocks = (int)blocks;
+        this.timeToIdleMillis = timeToIdle.toMillis();
+        this.slabs = new ByteBuffer[(totalBlocks + blocksPerSlab - 1) / blocksPerSlab];
+        this.freeBlocks = new int[totalBlocks];
+        Gauge.builder("webform.formstate.entries", this, OffHeapFormStateStore::getEntryCount)
+                .description("The number of form states held").register(meterRegistry);
+        Gauge.builder("webform.formstate.bytes", this, OffHeapFormStateStore::getBytes)
+                .description("The number of bytes of the form states held")
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("webform.formstate.capacity", this, OffHeapFormStateStore::getAllocatedBytes)
+                .description("The number of off-heap bytes allocated to hold form states")
+                .baseUnit("bytes").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("webform.formstate.evictions").tag("cause", "size")
+                .description("The number of form states evicted").register(meterRegistry);
+        this.expiryEvictions = Counter.builder("webform.formstate.evictions").tag("cause", "expired")
+                .description("The number of form states evicted").register(meterRegistry);
+    }
+
+    @Override
+    public synchronized byte [] get(String key) {
+        final Entry entry = entries.get(key);
+        if(entry == null) {
+            return null;
+        }
+        final long now = System.currentTimeMillis();
+        if(this.isExpired(entry, now)) {
+            this.remove(key);
+            expiryEvictions.increment();
+            return null;
+        }
+        entry.lastAccessedMillis = now;
+        final byte [] state = new byte[entry.length];
+        int offset = 0;
+        for(int block : entry.blocks) {
+            final int length = Math.min(blockSize, entry.length - offset);
+            this.slice(block).get(state, offset, length);
+            offset += length;
+        }
+        return state;
+    }
+
+    @Override
+    public synchronized void put(String key, byte [] state, int length) {
+        final int required = (length + blockSize - 1) / blockSize;
+        if(required > totalBlocks) {
+            throw new IllegalArgumentException("Form state of " + length +
+                    " bytes exceeds the capacity of the store: " + ((long)totalBlocks * blockSize));
+        }
+        this.remove(key);
+        final Iterator<Entry> eldest = entries.values().iterator();
+        while((entries.size() >= maxEntries || this.getAvailableBlocks() < required) && eldest.hasNext()) {
+            final Entry entry = eldest.next();
+            eldest.remove();
+            this.release(entry);
+            sizeEvictions.increment();
+        }
+        final int [] blocks = new int[required];
+        int offset = 0;
+        for(int i = 0; i < required; i++) {
+            blocks[i] = freeCount > 0 ? freeBlocks[--freeCount] : usedBlocks++;
+            final int blockLength = Math.min(blockSize, length - offset);
+            this.slice(blocks[i]).put(state, offset, blockLength);
+            offset += blockLength;
+        }
+        entries.put(key, new Entry(blocks, length, System.currentTimeMillis()));
+        bytes += length;
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        final Entry entry = entries.remove(key);
+        if(entry != null) {
+            this.release(entry);
+        }
+    }
+
+    /**
+     * Evict all states which have not been accessed for longer than the time to idle.
+     * @return The number of states evicted
+     */
+    @Scheduled(fixedDelayString = "${webform.react.formstate.evictionIntervalMillis:60000}")
+    public int evictExpired() {
+        final long now = System.currentTimeMillis();
+        int count = 0;
+        synchronized(this) {
+            final Iterator<Entry> iter = entries.values().iterator();
+            while(iter.hasNext()) {
+                final Entry entry = iter.next();
+                if(this.isExpired(entry, now)) {
+                    iter.remove();
+                    this.release(entry);
+                    ++count;
+                }
+            }
+        }
+        if(count > 0) {
+            expiryEvictions.increment(count);
+            LOG.debug("Evicted {} expired form states", count);
+        }
+        return count;
+    }
+
+    private boolean isExpired(Entry entry, long nowMillis) {
+        return timeToIdleMillis >= 0 && nowMillis - entry.lastAccessedMillis >= timeToIdleMillis;
+    }
+
+    private void release(Entry entry) {
+        for(int block : entry.blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+        bytes -= entry.length;
+    }
+
+    private int getAvailableBlocks() {
+        return freeCount + (totalBlocks - usedBlocks);
+    }
+
+    private ByteBuffer slice(int block) {
+        final int index = block / blocksPerSlab;
+        ByteBuffer slab = slabs[index];
+        if(slab == null) {
+            final int blocks = Math.min(blocksPerSlab, totalBlocks - index * blocksPerSlab);
+            slab = ByteBuffer.allocateDirect(blocks * blockSize);
+            slabs[index] = slab;
+        }
+        final ByteBuffer slice = slab.duplicate();
+        slice.position((block % blocksPerSlab) * blockSize);
+        return slice;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getAllocatedBytes() {
+        long allocated = 0;
+        for(ByteBuffer slab : slabs) {
+            allocated += slab == null ? 0 : slab.capacity();
+        }
+        return allocated;
+    }
+}
@@ -2,11 +2,14 @@ package com.looseboxes.webform.react;
 
 import com.bc.jpa.spring.repository.EntityRepository;
 import com.bc.jpa.spring.repository.EntityRepositoryFactory;
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
 import com.looseboxes.webform.react.domain.BlogSubtype;
-import com.looseboxes.webform.react.domain.BlogType;
 import com.looseboxes.webform.util.PrintAppInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import javax.persistence.EntityManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,18 +49,27 @@ public class SampleDataLoader extends PrintAppInfo{
     }
     
     public void loadDefaultData() {
-        final int subTypesPerType = 300;
-        final BlogType [] blogTypes = BlogType.values();
-        final EntityRepository repo = this.getEntityRepositoryFactory().forEntity(BlogSubtype.class);
-        for(BlogType type : blogTypes) {
-            for(int i=0; i<subTypesPerType; i++) {
-                final BlogSubtype subType = new BlogSubtype();
-                subType.setType(type);
-                subType.setName(type + " sub type " + i);
-                repo.create(subType);
-                LOG.trace("Created: {}", subType);
-            }
+        if(this.getBatchSize() != BlogSubtype.ID_ALLOCATION_SIZE) {
+            LOG.warn("webform.react.sampledata.batchSize: {} differs from the id allocation size " +
+                    "of {}: {}, so batches of inserts will not align with calls to the id sequence",
+                    this.getBatchSize(), BlogSubtype.class.getSimpleName(), BlogSubtype.ID_ALLOCATION_SIZE);
         }
+        final BlogSubtypeSeeder seeder = new BlogSubtypeSeeder(
+                this.getEntityManagerFactory(), this.getSubtypesPerType(), 
+                this.getBatchSize(), this.getSeedThreads());
+        final long startNanos = System.nanoTime();
+        final int count = seeder.seed();
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        Timer.builder("webform.sampledata.seed")
+                .description("The time taken to seed the reference data")
+                .tag("entity", BlogSubtype.class.getSimpleName())
+                .register(this.getContext().getBean(MeterRegistry.class))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        LOG.info("Seeded {} {} rows in {} millis ({} rows/sec), batch size: {}", 
+                count, BlogSubtype.class.getSimpleName(), elapsedMillis, 
+                elapsedMillis == 0 ? count : (count * 1000L / elapsedMillis), 
+                this.getBatchSize());
     }
     
     public void loadDevData() {
@@ -78,7 +90,7 @@ public class SampleDataLoader extends PrintAppInfo{
     private String getLogoLink() {
         final String serverPort = this.getContext()
                 .getEnvironment().getProperty("server.port", "8080");
-        return "http://localhost:"+serverPort+"/logo.jpg";
+        return "http://localhost:"+serverPort+WebformControllerConstants.IMAGES_PATH+"/logo.jpg";
     }
     
     private int pos(int index, int size) {
@@ -108,6 +120,21 @@ public class SampleDataLoader extends PrintAppInfo{
         return repoFactory;
     }
 
+    public int getSubtypesPerType() {
+        return this.getContext().getEnvironment().getProperty(
+                "webform.react.sampledata.subtypesPerType", Integer.class, 300);
+    }
+
+    public int getBatchSize() {
+        return this.getContext().getEnvironment().getProperty(
+                "webform.react.sampledata.batchSize", Integer.class, BlogSubtype.ID_ALLOCATION_SIZE);
+    }
+
+    public int getSeedThreads() {
+        return this.getContext().getEnvironment().getProperty(
+                "webform.react.sampledata.threads", Integer.class, 4);
+    }
+
     public boolean isProductionEnvironment() {
         return productionEnvironment;
     }
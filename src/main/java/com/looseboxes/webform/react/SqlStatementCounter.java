@@ -0,0 +1,77 @@
+package com.looseboxes.webform.react;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by the current thread, between calls to
+ * {@link #start()} and {@link #stop()}. Counting costs nothing for threads
+ * which have not called {@link #start()}.
+ *
+ * The statements themselves are kept only between calls to {@link #capture()}
+ * and {@link #stopCapture()} e.g to <code>EXPLAIN</code> them in tests.
+ *
+ * Registered via the property <code>hibernate.session_factory.statement_inspector</code>
+ *
+ * @author hp
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final class Recording{
+        private int count;
+        private final List<String> statements;
+        private Recording(List<String> statements) {
+            this.statements = statements;
+        }
+    }
+
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDING.set(new Recording(null));
+    }
+
+    /**
+     * @return The number of statements counted since {@link #start()}, or
+     * <code>-1</code> if counting was not started on this thread.
+     */
+    public static int stop() {
+        final Recording recording = RECORDING.get();
+        if(recording == null) {
+            return -1;
+        }
+        RECORDING.remove();
+        return recording.count;
+    }
+
+    public static void capture() {
+        RECORDING.set(new Recording(new ArrayList<>()));
+    }
+
+    /**
+     * @return The statements prepared since {@link #capture()}, in order, or
+     * an empty list if capturing was not started on this thread.
+     */
+    public static List<String> stopCapture() {
+        final Recording recording = RECORDING.get();
+        RECORDING.remove();
+        return recording == null || recording.statements == null ?
+                Collections.emptyList() : recording.statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        final Recording recording = RECORDING.get();
+        if(recording != null) {
+            ++recording.count;
+            if(recording.statements != null) {
+                recording.statements.add(sql);
+            }
+        }
+        return sql;
+    }
+}
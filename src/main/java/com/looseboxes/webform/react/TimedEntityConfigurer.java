@@ -0,0 +1,43 @@
+package com.looseboxes.webform.react;
+
+import com.looseboxes.webform.configurers.EntityConfigurer;
+import com.looseboxes.webform.web.FormRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of another {@link EntityConfigurer}, as the timer
+ * <code>webform.entity.configure</code> tagged by entity and configurer.
+ *
+ * @author hp
+ */
+public class TimedEntityConfigurer<T> implements EntityConfigurer<T>{
+    
+    public static final String METRIC = "webform.entity.configure";
+    
+    private final EntityConfigurer<T> delegate;
+    
+    private final Timer timer;
+
+    public TimedEntityConfigurer(Class<T> entityType, 
+            EntityConfigurer<T> delegate, MeterRegistry meterRegistry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.timer = Timer.builder(METRIC)
+                .description("The latency of entity configurers")
+                .tag("entity", entityType.getSimpleName())
+                .tag("configurer", delegate.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public T configure(T entity, FormRequest<T> formRequest) {
+        final long startNanos = System.nanoTime();
+        try{
+            return delegate.configure(entity, formRequest);
+        }finally{
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -10,12 +10,14 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import com.looseboxes.webform.web.ResponseHandler;
 
 @SpringBootApplication(scanBasePackageClasses = {
         com.looseboxes.webform.react.WebformApplication.class, 
         com.looseboxes.webform.WebformBasePackageClass.class
 })
+@EnableScheduling
 public class WebformApplication {
     
     public static void main(String[] args) {
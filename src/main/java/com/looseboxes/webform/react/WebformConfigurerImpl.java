@@ -2,6 +2,8 @@ package com.looseboxes.webform.react;
 
 import com.looseboxes.webform.config.WebformConfigurer;
 import com.looseboxes.webform.react.domain.Post;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
 import org.springframework.context.annotation.Configuration;
 import com.looseboxes.webform.configurers.EntityConfigurer;
 import com.looseboxes.webform.configurers.EntityConfigurerService;
@@ -12,6 +14,13 @@ import com.looseboxes.webform.web.FormRequest;
  */
 @Configuration
 public class WebformConfigurerImpl implements WebformConfigurer{
+    
+    private final MeterRegistry meterRegistry;
+
+    public WebformConfigurerImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    }
+    
     /**
      * This class could be used to initialize some defaults on the model object. 
      * For example we could set the current logged in user if there is a field and/
@@ -29,6 +38,7 @@ public class WebformConfigurerImpl implements WebformConfigurer{
 
     @Override
     public void addEntityConfigurers(EntityConfigurerService service) {
-        service.addConfigurer(Post.class, new PostPreconfigurer());
+        service.addConfigurer(Post.class, 
+                new TimedEntityConfigurer<>(Post.class, new PostPreconfigurer(), meterRegistry));
     }
 }
@@ -0,0 +1,96 @@
+package com.looseboxes.webform.react;
+
+import com.looseboxes.webform.react.controllers.OffloadingStageFilter;
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import javax.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * How form stage requests are executed, per <code>webform.react.execution.mode</code>:
+ * <ul>
+ *   <li><code>platform</code> - On the container's threads (the default)</li>
+ *   <li><code>virtual</code> - On a virtual thread per request. Requires Java 21+</li>
+ *   <li><code>async</code> - On the container's threads, limited to about the
+ *   size of the connection pool. Requests beyond the limit are queued,
+ *   releasing the container's thread until they run</li>
+ * </ul>
+ *
+ * @author hp
+ */
+@Configuration
+public class WebformExecutionConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebformExecutionConfiguration.class);
+
+    public static final String MODE = "webform.react.execution.mode";
+
+    @Bean
+    @ConditionalOnProperty(name = MODE, havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsCustomizer() {
+        final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        LOG.info("Requests will be executed on virtual threads");
+        return (protocolHandler) -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Looked up reflectively, so that other modes run on Java versions older than 21.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try{
+            return (ExecutorService)Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }catch(ReflectiveOperationException e) {
+            throw new IllegalStateException(MODE + "=virtual requires Java 21 or later, found: " +
+                    System.getProperty("java.version"), e);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = MODE, havingValue = "async")
+    public FilterRegistrationBean<OffloadingStageFilter> offloadingStageFilter(
+            Environment env, MeterRegistry meterRegistry) {
+        final int threads = env.getProperty("webform.react.execution.threads", Integer.class, 10);
+        final int queueCapacity = env.getProperty("webform.react.execution.queueCapacity", Integer.class, 1000);
+        final long timeoutMillis = env.getProperty("webform.react.execution.timeoutMillis", Long.class, 30_000L);
+        final OffloadingStageFilter filter = new OffloadingStageFilter(
+                getActions(env), threads, queueCapacity, timeoutMillis);
+        Gauge.builder("webform.stage.running", filter, OffloadingStageFilter::getRunning)
+                .description("The number of form stage requests running").register(meterRegistry);
+        Gauge.builder("webform.stage.queued", filter, OffloadingStageFilter::getQueued)
+                .description("The number of form stage requests waiting to run").register(meterRegistry);
+        final FilterRegistrationBean<OffloadingStageFilter> bean = new FilterRegistrationBean<>(filter);
+        bean.addUrlPatterns(WebformControllerConstants.API_BASEPATH + "/*");
+        bean.setAsyncSupported(true);
+        bean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        // After the filters which wrap the request e.g the encoding, form content
+        // and request context filters, so that queued requests pass them before
+        // the async dispatch they are resumed on, which the first two skip
+        bean.setOrder(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER);
+        LOG.info("Form stage requests will be limited to {} at once, queue capacity {}", threads, queueCapacity);
+        return bean;
+    }
+
+    private static Set<String> getActions(Environment env) {
+        return Arrays.stream(env
+                .getProperty(WebformControllerConstants.ACTIONS, "create,read,update,delete").split(","))
+                .map((action) -> action.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
@@ -3,48 +3,69 @@ package com.looseboxes.webform.react;
 import com.bc.webform.TypeTests;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.looseboxes.webform.json.WebformJsonOutputConfigurer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
+ * The properties <code>webform.react.json.ignoredFields</code> are removed
+ * from the serializer of each bean and map type, once. In high throughput
+ * mode (<code>webform.react.json.highThroughput=true</code>) serializers are
+ * also generated as bytecode (Afterburner), and the fields are not filtered
+ * again on every serialization.
+ *
  * @author hp
  */
 @Configuration
-public class WebformJsonOutputConfiguration 
+public class WebformJsonOutputConfiguration
         extends WebformJsonOutputConfigurer implements WebMvcConfigurer{
-    
+
+    private final boolean highThroughput;
+
+    private final Set<String> ignoredFields;
+
     @Autowired
-    public WebformJsonOutputConfiguration(TypeTests typeTests) {
+    public WebformJsonOutputConfiguration(TypeTests typeTests, Environment env) {
         super(typeTests);
+        this.highThroughput = env.getProperty("webform.react.json.highThroughput", Boolean.class, true);
+        this.ignoredFields = Collections.unmodifiableSet(Arrays.stream(
+                env.getProperty("webform.react.json.ignoredFields", "password").split(","))
+                .map(String::trim).filter((name) -> ! name.isEmpty())
+                .collect(Collectors.toSet()));
     }
 
     public Set<String> getFieldsToIgnore() {
-        // @TODO Make this a property
-        return Collections.singleton("password");
+        // In high throughput mode, the fields are removed by the serializers
+        return highThroughput ? Collections.emptySet() : ignoredFields;
     }
-    
+
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
         this.configureHttpMessageConverter(converters);
     }
-    
+
     @Bean public RestTemplate restTemplate() {
         return this.createConfiguredRestTemplate();
     }
-    
+
     @Bean public MappingJackson2HttpMessageConverter mappingJacksonHttpMessageConverter() {
         return this.createConfiguredHttpMessageConverter();
     }
-    
+
     @Bean public ObjectMapper objectMapper() {
         return this.createConfiguredObjectMapper();
     }
@@ -52,6 +73,15 @@ public class WebformJsonOutputConfiguration
     @Override
     public ObjectMapper configure(ObjectMapper objectMapper) {
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        // Lazy associations (e.g Post.blog) are only serialized if already
+        // fetched. Unfetched single valued associations are written as their id
+        objectMapper.registerModule(new Hibernate5Module()
+                .enable(Hibernate5Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS));
+        objectMapper.registerModule(new SimpleModule("IgnoredFields")
+                .setSerializerModifier(new IgnoredPropertiesSerializerModifier(ignoredFields)));
+        if(highThroughput) {
+            objectMapper.registerModule(new AfterburnerModule());
+        }
         return super.configure(objectMapper);
     }
 }
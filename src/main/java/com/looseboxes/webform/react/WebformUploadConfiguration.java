@@ -0,0 +1,33 @@
+package com.looseboxes.webform.react;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looseboxes.webform.react.controllers.UploadServlet;
+import com.looseboxes.webform.react.services.UploadService;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Registers the {@link UploadServlet}, the streaming upload path, at
+ * {@link UploadService#UPLOADS_PATH}.
+ * 
+ * @author hp
+ */
+@Configuration
+public class WebformUploadConfiguration {
+    
+    @Bean public ServletRegistrationBean<UploadServlet> uploadServlet(
+            UploadService uploadService, ObjectMapper objectMapper, Environment env) {
+        final DataSize maxSize = env.getProperty(
+                "spring.servlet.multipart.max-file-size", DataSize.class, DataSize.ofMegabytes(1));
+        final UploadServlet servlet = new UploadServlet(uploadService, objectMapper, maxSize.toBytes(),
+                env.getProperty("webform.react.upload.timeoutMillis", Long.class, 60_000L));
+        final ServletRegistrationBean<UploadServlet> bean = 
+                new ServletRegistrationBean<>(servlet, UploadService.UPLOADS_PATH);
+        bean.setName("uploadServlet");
+        bean.setAsyncSupported(true);
+        return bean;
+    }
+}
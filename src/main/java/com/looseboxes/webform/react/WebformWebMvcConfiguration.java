@@ -0,0 +1,61 @@
+package com.looseboxes.webform.react;
+
+import com.looseboxes.webform.react.controllers.FormStageInterceptor;
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * @author hp
+ */
+@Configuration
+public class WebformWebMvcConfiguration implements WebMvcConfigurer{
+    
+    @Value("${webform.react.trace.sampleRate:0.0}") private double traceSampleRate;
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final Environment environment;
+
+    public WebformWebMvcConfiguration(MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.environment = Objects.requireNonNull(environment);
+    }
+
+    private Set<String> getActions() {
+        return Arrays.stream(environment
+                .getProperty(WebformControllerConstants.ACTIONS, "create,read,update,delete").split(","))
+                .map((action) -> action.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        
+        final Set<String> actions = this.getActions();
+        
+        registry.addInterceptor(new FormStageInterceptor(
+                meterRegistry, FormStageInterceptor.BEGIN, actions, traceSampleRate))
+                .addPathPatterns(WebformControllerConstants.API_BASEPATH + "/**")
+                .excludePathPatterns(WebformControllerConstants.BLOGS_PATH + "/**",
+                        WebformControllerConstants.OPTIONS_PATH + "/**",
+                        WebformControllerConstants.UPLOADS_PATH + "/**",
+                        WebformControllerConstants.FILES_PATH + "/**",
+                        WebformControllerConstants.DATA_PATH + "/**",
+                        WebformControllerConstants.PAGES_PATH + "/**");
+        
+        registry.addInterceptor(new FormStageInterceptor(
+                meterRegistry, FormStageInterceptor.DISPLAY, actions, traceSampleRate))
+                .addPathPatterns(WebformControllerConstants.BASEPATH, WebformControllerConstants.BASEPATH + "/**");
+    }
+}
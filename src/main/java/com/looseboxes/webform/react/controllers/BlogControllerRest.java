@@ -0,0 +1,63 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.react.domain.Blog;
+import com.looseboxes.webform.react.services.BlogService;
+import com.looseboxes.webform.react.web.BlogWithRecentPosts;
+import com.looseboxes.webform.react.web.KeysetPage;
+import com.looseboxes.webform.react.web.PostSummary;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Loads a Blog and its posts separately, so that only what is rendered is
+ * loaded. The posts are served one page at a time, without their content,
+ * e.g <code>/blogs/1/posts?after=[next]</code> where <code>[next]</code> is
+ * the token returned with the previous page. The first page may be loaded
+ * with the Blog, via <code>/blogs/1?graph=blog-with-recent-posts</code>.
+ *
+ * @author hp
+ */
+@RestController
+@RequestMapping(path = WebformControllerConstants.BLOGS_PATH,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+public class BlogControllerRest {
+
+    private final BlogService blogService;
+
+    @Autowired
+    public BlogControllerRest(BlogService blogService) {
+        this.blogService = Objects.requireNonNull(blogService);
+    }
+
+    @GetMapping("/{id}")
+    public Blog blog(@PathVariable("id") Integer id) {
+        return blogService.findBlog(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping(path = "/{id}", params = "graph=" + Blog.GRAPH_WITH_RECENT_POSTS)
+    public BlogWithRecentPosts blogWithRecentPosts(@PathVariable("id") Integer id,
+            @RequestParam(name = "limit", defaultValue = "5") int limit) {
+        return blogService.findBlogWithRecentPosts(id, limit)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/{id}/posts")
+    public KeysetPage<PostSummary> posts(@PathVariable("id") Integer id,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        try{
+            return blogService.getPosts(id, after, limit);
+        }catch(IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
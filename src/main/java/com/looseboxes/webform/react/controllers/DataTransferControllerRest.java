@@ -0,0 +1,73 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.Params;
+import com.looseboxes.webform.react.domain.DomainTypes;
+import com.looseboxes.webform.react.services.DataTransferService;
+import com.looseboxes.webform.react.web.ImportResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exports all entities of a model as NDJSON e.g <code>GET /data/post</code>
+ * and imports entities from NDJSON e.g <code>POST /data/post</code>.
+ * Both directions are streamed, row by row.
+ *
+ * @author hp
+ */
+@RestController
+@RequestMapping(WebformControllerConstants.DATA_PATH)
+public class DataTransferControllerRest {
+
+    private final DataTransferService dataTransferService;
+
+    @Autowired
+    public DataTransferControllerRest(DataTransferService dataTransferService) {
+        this.dataTransferService = Objects.requireNonNull(dataTransferService);
+    }
+
+    @GetMapping("/{"+Params.MODELNAME+"}")
+    public void exportAll(@PathVariable(Params.MODELNAME) String modelname,
+            HttpServletResponse response) throws IOException {
+        final Class<?> entityType = this.getEntityType(modelname);
+        response.setContentType(DataTransferService.NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + modelname + ".ndjson\"");
+        final OutputStream out = response.getOutputStream();
+        dataTransferService.exportAll(entityType, out);
+    }
+
+    @PostMapping(path = "/{"+Params.MODELNAME+"}",
+            consumes = {DataTransferService.NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResult> importAll(@PathVariable(Params.MODELNAME) String modelname,
+            HttpServletRequest request) throws IOException {
+        final Class<?> entityType = this.getEntityType(modelname);
+        final ImportResult result;
+        try(InputStream in = request.getInputStream()) {
+            result = dataTransferService.importAll(entityType, in);
+        }
+        return ResponseEntity.status(result.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST)
+                .body(result);
+    }
+
+    private Class<?> getEntityType(String modelname) {
+        return DomainTypes.findEntityType(modelname)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,122 @@
+package com.looseboxes.webform.react.controllers;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Writes files to the response, with support for:
+ * <ul>
+ *   <li>Conditional requests - <code>If-None-Match</code>, <code>If-Modified-Since</code></li>
+ *   <li>A single byte range - <code>Range</code>, <code>If-Range</code>.
+ *   Requests for multiple or malformed ranges are answered with the whole file.</li>
+ *   <li>Zero-copy transfer - via the container's sendfile where supported
+ *   (Tomcat NIO), otherwise via {@link FileChannel#transferTo(long, long, WritableByteChannel)}</li>
+ * </ul>
+ *
+ * @author hp
+ */
+final class FileResponses {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileResponses() { }
+
+    /**
+     * @param etag The strong entity tag of the file, without quotes
+     * @param lastModified The last modified time of the file, or -1 to not send it
+     */
+    static void write(HttpServletRequest request, HttpServletResponse response, Path path,
+            MediaType mediaType, String etag, long lastModified, String cacheControl) throws IOException {
+
+        final String quotedEtag = '"' + etag + '"';
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if(new ServletWebRequest(request, response).checkNotModified(quotedEtag, lastModified)) {
+            return;
+        }
+
+        final long length = Files.size(path);
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        final String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if(rangeHeader != null && isRangeApplicable(request, quotedEtag, lastModified)) {
+            List<HttpRange> ranges;
+            try{
+                ranges = HttpRange.parseRanges(rangeHeader);
+            }catch(IllegalArgumentException e) {
+                // As RFC 7233, a malformed range is ignored
+                ranges = Collections.emptyList();
+            }
+            if(ranges.size() == 1) {
+                final HttpRange range = ranges.get(0);
+                start = range.getRangeStart(length);
+                if(start >= length) {
+                    notSatisfiable(response, length);
+                    return;
+                }
+                end = range.getRangeEnd(length);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + '-' + end + '/' + length);
+            }
+        }
+
+        final long count = end - start + 1;
+        response.setContentType(mediaType.toString());
+        response.setContentLengthLong(count);
+
+        if(HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if(Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while(position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    private static boolean isRangeApplicable(HttpServletRequest request, String quotedEtag, long lastModified) {
+        final String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if(ifRange == null || ifRange.equals(quotedEtag)) {
+            return true;
+        }
+        try{
+            final long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified != -1 && date / 1000 == lastModified / 1000;
+        }catch(IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void notSatisfiable(HttpServletResponse response, long length) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+    }
+}
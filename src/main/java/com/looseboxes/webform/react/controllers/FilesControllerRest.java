@@ -0,0 +1,79 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.react.services.ContentStore;
+import com.looseboxes.webform.react.services.ImageService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Serves the files of the {@link ContentStore}. As the content at a location
+ * never changes, responses carry a strong ETag (the hash) and may be cached
+ * indefinitely. Images may be requested resized e.g <code>[hash].jpg?w=200</code>
+ *
+ * @author hp
+ */
+@RestController
+@RequestMapping(ContentStore.FILES_PATH)
+public class FilesControllerRest {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final ContentStore contentStore;
+
+    private final ImageService imageService;
+
+    @Autowired
+    public FilesControllerRest(ContentStore contentStore, ImageService imageService) {
+        this.contentStore = Objects.requireNonNull(contentStore);
+        this.imageService = Objects.requireNonNull(imageService);
+    }
+
+    /**
+     * @param name The hash of the content, optionally followed by an extension
+     * e.g <code>[hash].jpg</code>
+     */
+    @GetMapping("/{name:.+}")
+    public void content(@PathVariable("name") String name,
+            @RequestParam(name = ImageService.WIDTH, required = false) Integer width,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        final int n = name.indexOf('.');
+        final String hash = n == -1 ? name : name.substring(0, n);
+        final Path content = contentStore.find(hash)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        final Path path = width == null ? content : imageService.getVariant(content, name, width);
+        // Of the variant served, so that requests for widths served by the same variant share it
+        final String etag = path == content ? hash : hash + "-w" + imageService.getVariantWidth(width).get();
+        final MediaType mediaType = MediaTypeFactory.getMediaType(
+                path == content ? name : path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        FileResponses.write(request, response, path, mediaType, etag, -1, IMMUTABLE);
+    }
+
+    @GetMapping("/{hash}/" + ContentStore.THUMBNAIL)
+    public void thumbnail(@PathVariable("hash") String hash,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if( ! contentStore.find(hash).isPresent()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        final Path path = contentStore.getThumbnailPath(hash);
+        if( ! Files.isRegularFile(path)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        FileResponses.write(request, response, path, MediaType.IMAGE_JPEG,
+                hash + '-' + ContentStore.THUMBNAIL, -1, IMMUTABLE);
+    }
+}
@@ -0,0 +1,174 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.Params;
+import com.looseboxes.webform.react.SqlStatementCounter;
+import com.looseboxes.webform.react.domain.DomainTypes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the following metrics for each form stage request, tagged by stage,
+ * action and modelname:
+ * <ul>
+ *   <li><code>webform.form.stage</code> - Timer of the latency, also tagged by status</li>
+ *   <li><code>webform.form.stage.queries</code> - Summary of the SQL statement count</li>
+ *   <li><code>webform.form.validation.failures</code> - Count of field errors, also tagged by field</li>
+ * </ul>
+ *
+ * In addition, logs one line per sampled request, to the logger
+ * <code>webform.trace</code>, in the format:
+ * <pre>
+ * stage=validate action=create modelname=blog status=200 latencyMicros=1834 sqlCount=2
+ * </pre>
+ * Requests are sampled at the rate <code>webform.react.trace.sampleRate</code>,
+ * from 0.0 (none) to 1.0 (all).
+ *
+ * The stage of a request to <code>/{action}/{modelname}</code> is the default
+ * stage of this interceptor e.g <code>begin</code>.
+ *
+ * @author hp
+ */
+public class FormStageInterceptor implements HandlerInterceptor{
+
+    private static final Logger TRACE = LoggerFactory.getLogger("webform.trace");
+
+    public static final String BEGIN = "begin";
+
+    public static final String DISPLAY = "display";
+
+    private static final String NONE = "none";
+
+    private static final String UNKNOWN = "unknown";
+
+    public static final String METRIC_STAGE = "webform.form.stage";
+
+    public static final String METRIC_QUERIES = "webform.form.stage.queries";
+
+    public static final String METRIC_VALIDATION_FAILURES = "webform.form.validation.failures";
+
+    /** The request attribute holding the {@link WebDataBinder} of the model object, if any */
+    public static final String BINDER = FormStageInterceptor.class.getName() + ".binder";
+
+    private static final String START_NANOS = FormStageInterceptor.class.getName() + ".startNanos";
+
+    private final MeterRegistry meterRegistry;
+
+    private final String defaultStage;
+
+    private final Set<String> actions;
+
+    private final double traceSampleRate;
+
+    /**
+     * @param meterRegistry The registry of the metrics
+     * @param defaultStage The stage of requests to <code>/{action}/{modelname}</code>
+     * @param actions The known actions. Others are tagged <code>unknown</code>,
+     * as are unknown model names, to bound the number of metrics.
+     * @param traceSampleRate From 0.0 (none) to 1.0 (all)
+     */
+    public FormStageInterceptor(MeterRegistry meterRegistry, String defaultStage,
+            Set<String> actions, double traceSampleRate) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.defaultStage = Objects.requireNonNull(defaultStage);
+        this.actions = Objects.requireNonNull(actions);
+        this.traceSampleRate = traceSampleRate;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_NANOS, System.nanoTime());
+        SqlStatementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+            Object handler, Exception ex) {
+        final Object startNanos = request.getAttribute(START_NANOS);
+        if(startNanos == null) {
+            return;
+        }
+        final long latencyNanos = System.nanoTime() - (Long)startNanos;
+        final int sqlCount = SqlStatementCounter.stop();
+
+        final Map<?, ?> pathVariables = (Map<?, ?>)request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        final String stage = this.getStage(request);
+        final String action = this.getPathVariable(pathVariables, Params.ACTION);
+        final String modelname = this.getPathVariable(pathVariables, Params.MODELNAME);
+        final Tags tags = Tags.of("stage", stage,
+                "action", action == null ? NONE : actions.contains(action) ? action : UNKNOWN,
+                "modelname", modelname == null ? NONE : 
+                        DomainTypes.findEntityType(modelname).isPresent() ? modelname : UNKNOWN);
+
+        Timer.builder(METRIC_STAGE)
+                .description("The latency of form stage requests")
+                .tags(tags).tag("status", String.valueOf(response.getStatus()))
+                .register(meterRegistry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+
+        if(sqlCount >= 0) {
+            DistributionSummary.builder(METRIC_QUERIES)
+                    .description("The number of SQL statements per form stage request")
+                    .tags(tags).register(meterRegistry)
+                    .record(sqlCount);
+        }
+
+        final Object binder = request.getAttribute(BINDER);
+        if(binder instanceof WebDataBinder) {
+            final BindingResult bindingResult = ((WebDataBinder)binder).getBindingResult();
+            if(bindingResult.hasErrors()) {
+                for(FieldError error : bindingResult.getFieldErrors()) {
+                    Counter.builder(METRIC_VALIDATION_FAILURES)
+                            .description("The number of field validation failures")
+                            .tags(tags).tag("field", error.getField())
+                            .register(meterRegistry).increment();
+                }
+            }
+        }
+
+        if(traceSampleRate > 0.0 && TRACE.isInfoEnabled() &&
+                (traceSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < traceSampleRate)) {
+            TRACE.info("stage={} action={} modelname={} status={} latencyMicros={} sqlCount={}",
+                    stage, action, modelname, response.getStatus(),
+                    TimeUnit.NANOSECONDS.toMicros(latencyNanos), sqlCount);
+        }
+    }
+
+    private String getPathVariable(Map<?, ?> pathVariables, String name) {
+        final Object value = pathVariables == null ? null : pathVariables.get(name);
+        return value == null ? null : value.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param request The request whose form stage will be returned
+     * @return The last segment of the matched path pattern e.g <code>validate</code>
+     * for <code>/api/webform/{action}/{modelname}/validate</code>
+     */
+    public String getStage(HttpServletRequest request) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if(pattern == null) {
+            return UNKNOWN;
+        }
+        final String path = pattern.toString();
+        final String stage = path.substring(path.lastIndexOf('/') + 1);
+        return stage.isEmpty() || stage.startsWith("{") ? defaultStage : stage;
+    }
+}
@@ -0,0 +1,72 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.react.services.ImageService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Serves the images under <code>bcfileupload.outputDir</code> e.g
+ * <code>/images/logo.jpg</code>, with conditional GETs, byte ranges and
+ * zero-copy transfer. Resized variants may be requested e.g
+ * <code>/images/logo.jpg?w=200</code>.
+ *
+ * @author hp
+ */
+@Controller
+public class ImageController {
+
+    @Value("${webform.react.images.maxAgeSeconds:86400}") private long maxAgeSeconds;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Path root;
+
+    private final ImageService imageService;
+
+    @Autowired
+    public ImageController(Environment env, ImageService imageService) {
+        this.root = Paths.get(env.getRequiredProperty("bcfileupload.outputDir")).toAbsolutePath().normalize();
+        this.imageService = Objects.requireNonNull(imageService);
+    }
+
+    @GetMapping(WebformControllerConstants.IMAGES_PATH + "/**")
+    public void image(@RequestParam(name = ImageService.WIDTH, required = false) Integer width,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        final String pattern = (String)request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final String pathWithinMapping = (String)request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        final String name = pathMatcher.extractPathWithinPattern(pattern, pathWithinMapping);
+
+        final Path source = root.resolve(name).normalize();
+        if( ! source.startsWith(root) || ! imageService.isImage(name) || ! Files.isRegularFile(source)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+
+        final Path path = width == null ? source : imageService.getVariant(source, name, width);
+        final long lastModified = Files.getLastModifiedTime(path).toMillis();
+        final String etag = Long.toHexString(Files.size(path)) + '-' + Long.toHexString(lastModified);
+        final MediaType mediaType = MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        FileResponses.write(request, response, path, mediaType, etag, lastModified,
+                "public, max-age=" + maxAgeSeconds);
+    }
+}
@@ -0,0 +1,66 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.Params;
+import com.looseboxes.webform.react.domain.DomainTypes;
+import com.looseboxes.webform.react.services.KeysetPageService;
+import com.looseboxes.webform.react.web.KeysetPage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Pages through the entities of a model by keyset rather than by offset e.g 
+ * <code>/pages/post?blog=1&amp;orderBy=timeCreated&amp;after=[next]</code>
+ * where <code>[next]</code> is the token returned with the previous page.
+ * Unlike the <code>?page=</code> of the spring-data-rest repositories, the 
+ * latency of a page does not grow with its depth.
+ * 
+ * Request parameters other than <code>orderBy</code>, <code>after</code> and 
+ * <code>limit</code> are treated as filters on attributes of the model.
+ * 
+ * @author hp
+ */
+@RestController 
+@RequestMapping(path = WebformControllerConstants.PAGES_PATH, 
+        produces = MediaType.APPLICATION_JSON_VALUE)
+public class KeysetPageControllerRest {
+    
+    private final KeysetPageService keysetPageService;
+
+    @Autowired
+    public KeysetPageControllerRest(KeysetPageService keysetPageService) {
+        this.keysetPageService = Objects.requireNonNull(keysetPageService);
+    }
+    
+    @GetMapping("/{"+Params.MODELNAME+"}")
+    public KeysetPage<?> page(
+            @PathVariable(Params.MODELNAME) String modelname, 
+            @RequestParam(name = "orderBy", defaultValue = KeysetPageService.ORDER_BY_ID) String orderBy,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @RequestParam Map<String, String> params) {
+        
+        final Class<?> entityType = DomainTypes.findEntityType(modelname)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        
+        final Map<String, String> filters = new HashMap<>(params);
+        filters.remove("orderBy");
+        filters.remove("after");
+        filters.remove("limit");
+        
+        try{
+            return keysetPageService.getPage(entityType, orderBy, filters, after, limit);
+        }catch(IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
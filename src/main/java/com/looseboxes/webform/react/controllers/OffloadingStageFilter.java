@@ -0,0 +1,297 @@
+package com.looseboxes.webform.react.controllers;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Limits the number of form stage requests i.e <code>/api/webform/{action}/{modelname}[/{stage}]</code>
+ * running at once. Requests beyond the limit are queued without holding a
+ * container thread, and resumed, via an async dispatch, as running requests
+ * complete. The number of requests in flight is thus limited by the queue,
+ * not the container's threads.
+ *
+ * The limit should be about the size of the connection pool, as each stage
+ * holds a connection for most of its duration. When the queue is full,
+ * <code>503 Service Unavailable</code> is returned at once.
+ *
+ * Requests still queued after the timeout are answered with <code>503 Service Unavailable</code>.
+ * Requests already running are left to complete, as the response may not be
+ * written to, or completed, while the chain is using it. Hence the container's
+ * async timeout is disabled, and the timeout is applied by this filter, to the
+ * time queued only.
+ *
+ * Must be ordered after the filters which prepare the request e.g the
+ * character encoding, form content and request context filters. The first
+ * two skip async dispatches, so a queued request must pass them on its
+ * initial dispatch, before it is queued. Filters ordered after this one run
+ * only on the async dispatch of a queued request, so must be registered for
+ * <code>ASYNC</code> dispatches, and not skip them.
+ *
+ * @author hp
+ */
+public class OffloadingStageFilter extends OncePerRequestFilter{
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffloadingStageFilter.class);
+
+    private static final String ADMITTED = OffloadingStageFilter.class.getName() + ".admitted";
+
+    private final Set<String> actions;
+
+    private final int limit;
+
+    private final Semaphore permits;
+
+    private final int queueCapacity;
+
+    private final long timeoutMillis;
+
+    private final Queue<Queued> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * @param actions The known actions. Requests for others are not limited
+     * @param limit The maximum number of requests to run at once
+     * @param queueCapacity The maximum number of requests waiting to run
+     * @param timeoutMillis Requests not started within this time are answered
+     * with <code>503 Service Unavailable</code>
+     */
+    public OffloadingStageFilter(Set<String> actions, int limit, int queueCapacity, long timeoutMillis) {
+        this.actions = Objects.requireNonNull(actions);
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.timer = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+            final Thread thread = new Thread(runnable, "stage-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most requests start well within the timeout
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if( ! request.isAsyncSupported()) {
+            return true;
+        }
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        if( ! path.startsWith(WebformControllerConstants.API_BASEPATH + '/')) {
+            return true;
+        }
+        final String [] parts = path.substring(WebformControllerConstants.API_BASEPATH.length() + 1).split("/");
+        return parts.length < 2 || parts.length > 3 || ! actions.contains(parts[0]);
+    }
+
+    /**
+     * Queued requests are resumed via an async dispatch
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+
+        final Queued admitted = (Queued)request.getAttribute(ADMITTED);
+        if(admitted != null) {
+            request.removeAttribute(ADMITTED);
+            if(admitted.ran.compareAndSet(false, true)) {
+                // The permit was acquired on its behalf, when it was admitted
+                this.run(request, response, chain);
+            }
+            return;
+        }
+
+        if(queue.isEmpty() && permits.tryAcquire()) {
+            this.run(request, response, chain);
+            return;
+        }
+
+        if(queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            LOG.debug("Rejected: {}", request.getRequestURI());
+            unavailable(response);
+            return;
+        }
+
+        final AsyncContext asyncContext = request.startAsync(request, response);
+        // Otherwise the container completes timed out requests, even those running
+        asyncContext.setTimeout(0);
+        final Queued pending = new Queued(asyncContext);
+        asyncContext.addListener(pending);
+        pending.expiry = timer.schedule(() -> this.expire(pending), timeoutMillis, TimeUnit.MILLISECONDS);
+        queue.add(pending);
+
+        // A permit may have been released before the request was queued
+        this.admitQueued();
+    }
+
+    private void run(HttpServletRequest request,
+            HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        try{
+            chain.doFilter(request, response);
+        }finally{
+            permits.release();
+            this.admitQueued();
+        }
+    }
+
+    /**
+     * Dispatches queued requests, in order, while permits are available
+     */
+    private void admitQueued() {
+        while( ! queue.isEmpty() && permits.tryAcquire()) {
+            Queued next;
+            do{
+                next = queue.poll();
+            }while(next != null && ! next.started.compareAndSet(false, true));
+            if(next == null) {
+                permits.release();
+                continue;
+            }
+            queued.decrementAndGet();
+            next.cancelExpiry();
+            try{
+                next.admitted = true;
+                next.asyncContext.getRequest().setAttribute(ADMITTED, next);
+                next.asyncContext.dispatch();
+            }catch(IllegalStateException e) {
+                // The request already completed e.g the client went away
+                LOG.debug("Failed to dispatch queued request", e);
+                if(next.ran.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Answers the request with <code>503 Service Unavailable</code>, only
+     * if it is still queued. Once started, the response belongs to the
+     * dispatch which runs it.
+     */
+    private void expire(Queued pending) {
+        if( ! pending.started.compareAndSet(false, true)) {
+            return;
+        }
+        queue.remove(pending);
+        queued.decrementAndGet();
+        LOG.debug("Timed out while queued: {}",
+                ((HttpServletRequest)pending.asyncContext.getRequest()).getRequestURI());
+        try{
+            unavailable((HttpServletResponse)pending.asyncContext.getResponse());
+            pending.asyncContext.complete();
+        }catch(IllegalStateException e) {
+            LOG.debug("Failed to complete queued request", e);
+        }
+    }
+
+    private static void unavailable(HttpServletResponse response) {
+        if( ! response.isCommitted()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * @return The number of requests running
+     */
+    public int getRunning() {
+        return Math.max(0, this.getLimit() - permits.availablePermits());
+    }
+
+    /**
+     * @return The number of requests waiting to run
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    private final class Queued implements AsyncListener{
+
+        private final AsyncContext asyncContext;
+
+        /** Set once, either when dispatched to run, or when expired */
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        /** Set once the dispatch has run, or will never run */
+        private final AtomicBoolean ran = new AtomicBoolean();
+
+        private volatile boolean admitted;
+
+        private volatile ScheduledFuture<?> expiry;
+
+        private Queued(AsyncContext asyncContext) {
+            this.asyncContext = asyncContext;
+        }
+
+        private void cancelExpiry() {
+            final ScheduledFuture<?> pending = expiry;
+            if(pending != null) {
+                pending.cancel(false);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            expire(this);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            this.onComplete(event);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if(started.compareAndSet(false, true)) {
+                // Completed while queued
+                queue.remove(this);
+                queued.decrementAndGet();
+                this.cancelExpiry();
+            }else if(admitted && ran.compareAndSet(false, true)) {
+                // Completed before the dispatch ran, so its permit was not released
+                permits.release();
+                admitQueued();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) { }
+    }
+}
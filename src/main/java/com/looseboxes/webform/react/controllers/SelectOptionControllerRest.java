@@ -0,0 +1,62 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.Params;
+import com.looseboxes.webform.react.domain.DomainTypes;
+import com.looseboxes.webform.react.services.SelectOptionService;
+import com.looseboxes.webform.react.web.OptionsPage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Pages through the select options of a model e.g 
+ * <code>/options/blogsubtype?type=1&amp;after=300</code>
+ * 
+ * Request parameters other than <code>after</code> and <code>limit</code> 
+ * are treated as filters on attributes of the model.
+ * 
+ * @author hp
+ */
+@RestController 
+@RequestMapping(path = WebformControllerConstants.OPTIONS_PATH, 
+        produces = MediaType.APPLICATION_JSON_VALUE)
+public class SelectOptionControllerRest {
+    
+    private final SelectOptionService selectOptionService;
+
+    @Autowired
+    public SelectOptionControllerRest(SelectOptionService selectOptionService) {
+        this.selectOptionService = Objects.requireNonNull(selectOptionService);
+    }
+    
+    @GetMapping("/{"+Params.MODELNAME+"}")
+    public OptionsPage options(
+            @PathVariable(Params.MODELNAME) String modelname, 
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam Map<String, String> params) {
+        
+        final Class<?> entityType = DomainTypes.findEntityType(modelname)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        
+        final Map<String, String> filters = new HashMap<>(params);
+        filters.remove("after");
+        filters.remove("limit");
+        
+        try{
+            return selectOptionService.getOptions(entityType, filters, after, 
+                    limit == null ? selectOptionService.getMaxItemsInMultichoice() : limit);
+        }catch(IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
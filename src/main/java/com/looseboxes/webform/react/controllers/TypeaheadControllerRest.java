@@ -0,0 +1,69 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.Params;
+import com.looseboxes.webform.react.domain.DomainTypes;
+import com.looseboxes.webform.react.services.TypeaheadService;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Serves the choices of a multi-choice form field by prefix, for fields with 
+ * more choices than <code>webform.maxItemsInMultichoice</code>.
+ * 
+ * Mapped alongside the <code>dependents</code> stage of 
+ * {@link WebformControllerRest}, with a response of the same format e.g 
+ * <code>{"subtype":[{"text":"FASHION sub type 1","value":1}]}</code>. 
+ * Other parameters are the values of fields which the choices may depend on
+ * e.g <code>type</code> for <code>Blog.subtype</code>.
+ * It is kept out of that controller, so that a lookup does not incur any of 
+ * the per-request work of the form stages, as it need not bind a model object.
+ * 
+ * @author hp
+ */
+@RestController 
+@RequestMapping(path = WebformControllerConstants.API_BASEPATH, 
+        produces = MediaType.APPLICATION_JSON_VALUE)
+public class TypeaheadControllerRest {
+    
+    public static final String TYPEAHEAD = "typeahead";
+    
+    private final TypeaheadService typeaheadService;
+
+    @Autowired
+    public TypeaheadControllerRest(TypeaheadService typeaheadService) {
+        this.typeaheadService = Objects.requireNonNull(typeaheadService);
+    }
+
+    @GetMapping("/{"+Params.ACTION+"}/{"+Params.MODELNAME+"}/" + TYPEAHEAD)
+    public ResponseEntity<Object> typeahead(
+            @PathVariable(Params.MODELNAME) String modelname,
+            @RequestParam(name = "propertyName", required = true) String propertyName, 
+            @RequestParam(name = "prefix", defaultValue = "") String prefix, 
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @RequestParam Map<String, String> params) {
+        
+        final Class<?> modelType = DomainTypes.findEntityType(modelname)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        
+        try{
+            final Class<?> indexedType = typeaheadService.getIndexedType(modelType, propertyName)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, 
+                            "Not a searchable property: " + propertyName));
+            return ResponseEntity.ok(Collections.singletonMap(propertyName, 
+                    typeaheadService.search(indexedType, params, prefix, limit)));
+        }catch(IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.react.services.Upload;
+import com.looseboxes.webform.react.services.UploadService;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Status of files uploaded via the {@link UploadServlet}. The content is
+ * served by the {@link FilesControllerRest}.
+ * 
+ * @author hp
+ */
+@RestController 
+@RequestMapping(UploadService.UPLOADS_PATH)
+public class UploadControllerRest {
+    
+    private final UploadService uploadService;
+
+    @Autowired
+    public UploadControllerRest(UploadService uploadService) {
+        this.uploadService = Objects.requireNonNull(uploadService);
+    }
+    
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Upload status(@PathVariable("id") String id) {
+        return uploadService.getUpload(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+}
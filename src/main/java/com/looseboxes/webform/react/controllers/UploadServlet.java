@@ -0,0 +1,190 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.looseboxes.webform.react.services.ContentStore;
+import com.looseboxes.webform.react.services.Upload;
+import com.looseboxes.webform.react.services.UploadService;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+/**
+ * Receives the raw bytes of a file as the body of a POST, and streams them to
+ * the {@link ContentStore} using non-blocking servlet IO. The request thread is released whenever
+ * no data is available, so the number of request threads does not scale with
+ * the number or bandwidth of uploads.
+ *
+ * Responds with <code>201 Created</code> and the JSON {@link Upload} handle as
+ * soon as the file is in the store. The location of the upload is that of its
+ * content, so identical files share one location. Thumbnails are generated in
+ * the background by the {@link UploadService}.
+ *
+ * <pre>
+ * POST /api/webform/uploads?filename=logo.jpg
+ * Content-Type: image/jpeg
+ * </pre>
+ *
+ * @author hp
+ */
+public class UploadServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient UploadService uploadService;
+
+    private final transient ObjectWriter uploadWriter;
+
+    private final long maxBytes;
+
+    private final long timeoutMillis;
+
+    public UploadServlet(UploadService uploadService, ObjectMapper objectMapper,
+            long maxBytes, long timeoutMillis) {
+        this.uploadService = Objects.requireNonNull(uploadService);
+        this.uploadWriter = objectMapper.writerFor(Upload.class);
+        this.maxBytes = maxBytes;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        final String contentType = request.getContentType();
+        if(contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+                    "Send the file as the request body, not as " + MediaType.MULTIPART_FORM_DATA_VALUE);
+            return;
+        }
+        if(request.getContentLengthLong() > maxBytes) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        final Upload upload = uploadService.newUpload(request.getParameter("filename"), contentType);
+
+        final AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(timeoutMillis);
+
+        // Opened only once in async mode, so that every failure from here on 
+        // reaches the listener, which discards the partial content
+        final ContentStore.Writer writer;
+        try{
+            writer = uploadService.openWriter(upload);
+        }catch(IOException | RuntimeException e) {
+            uploadService.onFailed(upload, null, e);
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            asyncContext.complete();
+            return;
+        }
+
+        final ServletInputStream input = request.getInputStream();
+        final UploadReadListener listener = new UploadReadListener(upload, writer, input, asyncContext);
+        asyncContext.addListener(listener);
+        input.setReadListener(listener);
+    }
+
+    /**
+     * Also listens for the timeout or failure of the request, e.g when the 
+     * client stops sending, as no read callback is then made.
+     */
+    private final class UploadReadListener implements ReadListener, AsyncListener{
+
+        private final Upload upload;
+        private final ContentStore.Writer writer;
+        private final ServletInputStream input;
+        private final AsyncContext asyncContext;
+        private final byte [] buffer = new byte[8192];
+        private final AtomicBoolean done = new AtomicBoolean();
+        private long size;
+
+        private UploadReadListener(Upload upload, ContentStore.Writer writer,
+                ServletInputStream input, AsyncContext asyncContext) {
+            this.upload = upload;
+            this.writer = writer;
+            this.input = input;
+            this.asyncContext = asyncContext;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            while( ! done.get() && input.isReady()) {
+                final int n = input.read(buffer);
+                if(n == -1) {
+                    return;
+                }
+                size += n;
+                if(size > maxBytes) {
+                    this.fail(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, null);
+                    return;
+                }
+                writer.write(ByteBuffer.wrap(buffer, 0, n));
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            if( ! done.compareAndSet(false, true)) {
+                return;
+            }
+            try{
+                uploadService.onAllWritten(upload, writer);
+            }catch(IOException | RuntimeException e) {
+                this.discard(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e);
+                return;
+            }
+            final HttpServletResponse response = (HttpServletResponse)asyncContext.getResponse();
+            response.setStatus(HttpServletResponse.SC_CREATED);
+            response.setHeader("Location", upload.getLocation());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            uploadWriter.writeValue(response.getOutputStream(), upload);
+            asyncContext.complete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            this.fail(HttpServletResponse.SC_BAD_REQUEST, t);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            this.fail(HttpServletResponse.SC_REQUEST_TIMEOUT, event.getThrowable());
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            this.fail(HttpServletResponse.SC_BAD_REQUEST, event.getThrowable());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) { }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) { }
+
+        private void fail(int status, Throwable t) {
+            if(done.compareAndSet(false, true)) {
+                this.discard(status, t);
+            }
+        }
+
+        private void discard(int status, Throwable t) {
+            uploadService.onFailed(upload, writer, t);
+            final HttpServletResponse response = (HttpServletResponse)asyncContext.getResponse();
+            if( ! response.isCommitted()) {
+                response.setStatus(status);
+            }
+            asyncContext.complete();
+        }
+    }
+}
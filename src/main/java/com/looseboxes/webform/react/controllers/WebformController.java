@@ -6,6 +6,7 @@ import com.looseboxes.webform.controllers.FormParamsUtil;
 import javax.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,6 +24,10 @@ public class WebformController extends FormControllerBase<Object>{
     
     private final Logger log = LoggerFactory.getLogger(WebformController.class);
     
+    @Value("${webform.maxItemsInMultichoice:100}") private int maxItemsInMultichoice;
+    
+    @Value("${webform.react.upload.async:false}") private boolean asyncUpload;
+    
     @GetMapping("/{"+Params.ACTION+"}/{"+Params.MODELNAME+"}")
     public String displayFormBasedOnPathVariables(ModelMap model, 
             @ModelAttribute(Params.ACTION) @PathVariable(name=Params.ACTION, required=false) String action, 
@@ -60,6 +65,10 @@ public class WebformController extends FormControllerBase<Object>{
     private void addApiEndpoint(ModelMap model) {
         model.addAttribute(WebformControllerConstants.PARAM_API_BASEPATH, WebformControllerConstants.API_BASEPATH);
         model.addAttribute(WebformControllerConstants.PARAM_BASEPATH, WebformControllerConstants.BASEPATH);
+        model.addAttribute(WebformControllerConstants.PARAM_MAX_ITEMS_IN_MULTICHOICE, maxItemsInMultichoice);
+        if(asyncUpload) {
+            model.addAttribute(WebformControllerConstants.PARAM_ASYNC_UPLOAD_PATH, WebformControllerConstants.UPLOADS_PATH);
+        }
     }
     
     private boolean isNullOrEmpty(String s) {
@@ -0,0 +1,192 @@
+package com.looseboxes.webform.react.controllers;
+
+import com.looseboxes.webform.FormStage;
+import com.looseboxes.webform.ModelAttributes;
+import com.looseboxes.webform.react.converters.BlogSubtypePropertyEditor;
+import com.looseboxes.webform.react.converters.BlogSubtypeResolver;
+import com.looseboxes.webform.react.converters.DateFormats;
+import com.looseboxes.webform.react.converters.DatePropertyEditor;
+import com.looseboxes.webform.react.converters.EnumPropertyEditor;
+import com.looseboxes.webform.react.converters.EnumTable;
+import com.looseboxes.webform.react.domain.BlogSubtype;
+import com.looseboxes.webform.react.domain.BlogType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolation;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+/**
+ * @author hp
+ */
+@ControllerAdvice(assignableTypes = WebformControllerRest.class)
+public class WebformControllerAdvice {
+
+    public static final String DEPENDENCIES = "webform.react.field.dependencies.";
+
+    private static final String VALIDATE_SINGLE = "validateSingle";
+
+    private final javax.validation.Validator validator;
+
+    private final Environment environment;
+
+    private final DateFormats dateFormats;
+
+    private final EnumTable<BlogType> blogTypes;
+
+    private final BlogSubtypeResolver blogSubtypeResolver;
+
+    private final boolean partialBinding;
+
+    /** Keyed by <code>[model class name].[property name]</code> */
+    private final Map<String, Set<String>> dependencies;
+
+    @Autowired
+    public WebformControllerAdvice(javax.validation.Validator validator, 
+            Environment environment, DateFormats dateFormats, 
+            BlogSubtypeResolver blogSubtypeResolver) {
+        this.validator = Objects.requireNonNull(validator);
+        this.environment = Objects.requireNonNull(environment);
+        this.dateFormats = Objects.requireNonNull(dateFormats);
+        this.blogTypes = new EnumTable<>(BlogType.class);
+        this.blogSubtypeResolver = Objects.requireNonNull(blogSubtypeResolver);
+        this.partialBinding = environment.getProperty("webform.react.binding.partial", Boolean.class, true);
+        this.dependencies = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Make the binder of the model object available to the {@link FormStageInterceptor},
+     * which counts validation failures once the request is complete.
+     */
+    @InitBinder(ModelAttributes.MODELOBJECT)
+    public void exposeBinder(WebDataBinder binder, HttpServletRequest request) {
+        request.setAttribute(FormStageInterceptor.BINDER, binder);
+    }
+
+    /**
+     * Date properties e.g <code>Post.timeCreated</code> are parsed with the
+     * precompiled <code>webform.formats.*</code> patterns.
+     */
+    @InitBinder(ModelAttributes.MODELOBJECT)
+    public void registerDateEditor(WebDataBinder binder) {
+        if( ! dateFormats.isEmpty()) {
+            binder.registerCustomEditor(Date.class, new DatePropertyEditor(dateFormats));
+        }
+    }
+
+    /**
+     * <code>Blog.type</code> and <code>BlogSubtype.type</code> are bound from
+     * a precomputed ordinal/name table, <code>Blog.subtype</code> from a cache
+     * of the reference data, rather than via a query per request.
+     */
+    @InitBinder(ModelAttributes.MODELOBJECT)
+    public void registerReferenceDataEditors(WebDataBinder binder) {
+        binder.registerCustomEditor(BlogType.class, new EnumPropertyEditor<>(blogTypes));
+        binder.registerCustomEditor(BlogSubtype.class, new BlogSubtypePropertyEditor(blogSubtypeResolver));
+    }
+
+    /**
+     * For the <code>validateSingle</code> and <code>dependents</code> stages,
+     * bind and validate only the named property and its declared dependencies
+     * i.e <code>webform.react.field.dependencies.[Model].[property]</code>,
+     * rather than every submitted field and every constraint of the model.
+     * 
+     * For the <code>validateFields</code> stage, likewise for each of the
+     * properties named by the <code>propertyNames</code> parameter. That stage
+     * is always restricted, whatever <code>webform.react.binding.partial</code>.
+     */
+    @InitBinder(ModelAttributes.MODELOBJECT)
+    public void restrictBinder(WebDataBinder binder, HttpServletRequest request) {
+        if(binder.getTarget() == null) {
+            return;
+        }
+        final String uri = request.getRequestURI();
+        final String stage = uri.substring(uri.lastIndexOf('/') + 1);
+        final Class<?> modelType = binder.getTarget().getClass();
+        final Set<String> names;
+        if(WebformControllerRest.VALIDATE_FIELDS.equals(stage)) {
+            names = new LinkedHashSet<>();
+            final String [] values = request.getParameterValues("propertyNames");
+            for(String value : (values == null ? new String[0] : values)) {
+                for(String propertyName : value.split(",")) {
+                    propertyName = propertyName.trim();
+                    if( ! propertyName.isEmpty() && BeanUtils.getPropertyDescriptor(modelType, propertyName) != null) {
+                        names.addAll(this.getPropertyNames(modelType, propertyName));
+                    }
+                }
+            }
+        }else if(partialBinding && (VALIDATE_SINGLE.equals(stage) || FormStage.dependents.equals(stage))) {
+            final String propertyName = request.getParameter("propertyName");
+            if(propertyName == null || BeanUtils.getPropertyDescriptor(modelType, propertyName) == null) {
+                return;
+            }
+            names = this.getPropertyNames(modelType, propertyName);
+        }else{
+            return;
+        }
+        if(names.isEmpty()) {
+            // No allowed fields would allow all fields
+            binder.setDisallowedFields("*");
+        }else{
+            binder.setAllowedFields(names.toArray(new String[0]));
+        }
+        binder.replaceValidators(new PropertiesValidator(validator, names));
+    }
+
+    private Set<String> getPropertyNames(Class<?> modelType, String propertyName) {
+        return dependencies.computeIfAbsent(modelType.getSimpleName() + '.' + propertyName, (key) -> {
+            final Set<String> names = new LinkedHashSet<>();
+            names.add(propertyName);
+            Arrays.stream(environment.getProperty(DEPENDENCIES + key, "").split(","))
+                    .map(String::trim).filter((name) -> ! name.isEmpty()).forEach(names::add);
+            return Collections.unmodifiableSet(names);
+        });
+    }
+
+    /**
+     * Checks only the constraints of the specified properties.
+     */
+    private static final class PropertiesValidator implements Validator{
+
+        private final javax.validation.Validator validator;
+
+        private final Set<String> propertyNames;
+
+        private PropertiesValidator(javax.validation.Validator validator, Set<String> propertyNames) {
+            this.validator = validator;
+            this.propertyNames = propertyNames;
+        }
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return true;
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            for(String name : propertyNames) {
+                if(errors.hasFieldErrors(name)) {
+                    // Failed to bind, so nothing to validate
+                    continue;
+                }
+                for(ConstraintViolation<Object> violation : validator.validateProperty(target, name)) {
+                    errors.rejectValue(name, violation.getConstraintDescriptor()
+                            .getAnnotation().annotationType().getSimpleName(), violation.getMessage());
+                }
+            }
+        }
+    }
+}
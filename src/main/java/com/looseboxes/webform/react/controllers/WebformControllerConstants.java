@@ -5,13 +5,34 @@ package com.looseboxes.webform.react.controllers;
  */
 public interface WebformControllerConstants {
 
+    /** The property listing the form actions e.g <code>create,read,update,delete</code> */
+    String ACTIONS = "webform.react.form.actions";
+
     String TEMPLATE_PAGE = "webform";
 
     String BASEPATH = "/" + TEMPLATE_PAGE;
     
     String API_BASEPATH = "/api" + BASEPATH;
+    
+    String BLOGS_PATH = API_BASEPATH + "/blogs";
+    
+    String OPTIONS_PATH = API_BASEPATH + "/options";
+    
+    String UPLOADS_PATH = API_BASEPATH + "/uploads";
+    
+    String FILES_PATH = API_BASEPATH + "/files";
+    
+    String DATA_PATH = API_BASEPATH + "/data";
+    
+    String PAGES_PATH = API_BASEPATH + "/pages";
+    
+    String IMAGES_PATH = "/images";
 
     String PARAM_BASEPATH = "basepath";
 
     String PARAM_API_BASEPATH = "apibasepath";
+
+    String PARAM_MAX_ITEMS_IN_MULTICHOICE = "maxitemsinmultichoice";
+
+    String PARAM_ASYNC_UPLOAD_PATH = "asyncuploadpath";
 }
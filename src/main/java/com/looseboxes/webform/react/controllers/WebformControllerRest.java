@@ -1,9 +1,44 @@
 package com.looseboxes.webform.react.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.looseboxes.webform.FormStage;
+import com.looseboxes.webform.ModelAttributes;
+import com.looseboxes.webform.Params;
 import com.looseboxes.webform.controllers.FormControllerRest;
+import com.looseboxes.webform.react.domain.Blog;
+import com.looseboxes.webform.react.domain.BlogSubtype;
+import com.looseboxes.webform.react.services.DataVersionService;
+import com.looseboxes.webform.react.services.ResponseCache;
+import com.looseboxes.webform.react.services.SelectOptionService;
+import com.looseboxes.webform.react.web.FieldValidationResult;
+import com.looseboxes.webform.web.FormConfigDTO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.ui.ModelMap;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * @author hp
@@ -12,74 +47,99 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping(path = WebformControllerConstants.API_BASEPATH, 
         produces = MediaType.APPLICATION_JSON_VALUE)
 public class WebformControllerRest extends FormControllerRest<Object>{
-
-}
-/**    
- * 
-
-    private static final Logger LOG = LoggerFactory.getLogger(FormControllerRestImpl.class);
     
-    private void print(String method, Object modelobject, String name, Object value) {
-        
-        if(modelobject instanceof Blog) {
-            final Blog blog = (Blog)modelobject;
-            LOG.info("xxx" + method + " " + name + " = " + value + ", of type: " + (value==null?null:value.getClass()));
-            LOG.info("xxx" + method + "Blog.handle = " + blog.getHandle() + ", of type: " + (blog.getHandle() == null ? null : blog.getHandle().getClass()));
-            LOG.info("xxx" + method + "Blog.type = " + blog.getType() + ", of type: " + (blog.getType() ==  null ? null : blog.getType().getClass()));
-            LOG.info("xxx" + method + "Blog.enabled = " + blog.isEnabled() + ", of type: boolean");
-        }else{
-            LOG.info("xxx" + method + "Modelobject: " + modelobject + ", type: " + (modelobject == null ? null : modelobject.getClass()));
-        }
-    }
+    public static final String VALIDATE_FIELDS = "validateFields";
+    
+    private final SelectOptionService selectOptionService;
+    
+    private final DataVersionService dataVersionService;
+    
+    private final ResponseCache responseCache;
+    
+    private final ObjectWriter objectWriter;
 
-    @RequestMapping("/{"+Params.ACTION+"}/{"+Params.MODELNAME+"}/" + FormStage.dependents)
-    @Override
-    public ResponseEntity<Object> dependents(
+    @Autowired
+    public WebformControllerRest(SelectOptionService selectOptionService, 
+            DataVersionService dataVersionService, ResponseCache responseCache,
+            ObjectMapper objectMapper) {
+        this.selectOptionService = Objects.requireNonNull(selectOptionService);
+        this.dataVersionService = Objects.requireNonNull(dataVersionService);
+        this.responseCache = Objects.requireNonNull(responseCache);
+        this.objectWriter = objectMapper.writer();
+    }
+    
+    /**
+     * Validates only the named fields, in one request e.g 
+     * <code>/create/post/validateFields?propertyNames=title,content</code>
+     * 
+     * Unlike <code>validateSingle</code>, the model object is not validated 
+     * as a whole. Only the named fields are bound, and only their constraints
+     * checked, by the binder as restricted by 
+     * {@link WebformControllerAdvice#restrictBinder(org.springframework.web.bind.WebDataBinder, javax.servlet.http.HttpServletRequest)}.
+     * Fields which could not be bound are reported with their binding error.
+     */
+    @RequestMapping("/{"+Params.ACTION+"}/{"+Params.MODELNAME+"}/" + VALIDATE_FIELDS)
+    public FieldValidationResult validateFields(
             @Valid @ModelAttribute(ModelAttributes.MODELOBJECT) Object modelobject, 
             BindingResult bindingResult,
             ModelMap model, FormConfigDTO formConfigDTO,
-            @RequestParam(name = "propertyName", required = true) String propertyName, 
-            HttpServletRequest request, HttpServletResponse response) {
+            @RequestParam(name = "propertyNames", required = true) List<String> propertyNames) {
         
-        this.print(FormStage.dependents, modelobject, propertyName, "N/A");
+        final Set<String> names = new LinkedHashSet<>(propertyNames);
+        final List<FieldValidationResult.FieldError> errors = new ArrayList<>();
+        for(String name : names) {
+            if(BeanUtils.getPropertyDescriptor(modelobject.getClass(), name) == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown property: " + name);
+            }
+            for(FieldError error : bindingResult.getFieldErrors(name)) {
+                errors.add(new FieldValidationResult.FieldError(name, error.getDefaultMessage()));
+            }
+        }
         
-        return super.dependents(modelobject, bindingResult, model, formConfigDTO, propertyName, request, response);
+        return new FieldValidationResult(new ArrayList<>(names), errors);
     }
 
-    @RequestMapping("/{"+Params.ACTION+"}/{"+Params.MODELNAME+"}/" + FormStage.validateSingle)
+    /**
+     * The choices for <code>Blog.subtype</code> depend on <code>Blog.type</code>. 
+     * Those choices are served as id/label projections, from the query cache.
+     * 
+     * As they are the same for all users, the serialized choices are cached,
+     * and served with an ETag which changes whenever any <code>BlogSubtype</code>
+     * changes. Conditional GETs are answered with <code>304 Not Modified</code>.
+     */
+    @RequestMapping("/{"+Params.ACTION+"}/{"+Params.MODELNAME+"}/" + FormStage.dependents)
     @Override
-    public ResponseEntity<Object> validateSingle(
+    public ResponseEntity<Object> dependents(
             @Valid @ModelAttribute(ModelAttributes.MODELOBJECT) Object modelobject, 
             BindingResult bindingResult,
             ModelMap model, FormConfigDTO formConfigDTO,
             @RequestParam(name = "propertyName", required = true) String propertyName, 
             HttpServletRequest request, HttpServletResponse response) {
         
-        this.print(FormStage.validateSingle, modelobject, propertyName, "N/A");
+        if(modelobject instanceof Blog && "type".equals(propertyName)) {
+            final Blog blog = (Blog)modelobject;
+            if(blog.getType() != null) {
+                final String etag = dataVersionService.getETag(
+                        "subtype." + blog.getType().name(), BlogSubtype.class);
+                if(new ServletWebRequest(request, response).checkNotModified(etag)) {
+                    return null;
+                }
+                final byte [] body = responseCache.get(etag, () -> this.toJson(
+                        Collections.singletonMap("subtype", selectOptionService.getOptions(BlogSubtype.class, 
+                                Collections.singletonMap("type", blog.getType())).getOptions())));
+                return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                        .contentType(MediaType.APPLICATION_JSON).body(body);
+            }
+        }
         
-        return super.validateSingle(
-                modelobject, bindingResult, model, formConfigDTO, propertyName, request, response);
+        return super.dependents(modelobject, bindingResult, model, formConfigDTO, propertyName, request, response);
     }
     
-    @PostMapping("/{"+Params.ACTION+"}/{"+Params.MODELNAME+"}/validate")
-    @Override
-    public ResponseEntity<FormConfig> validate(
-            @Valid @ModelAttribute(ModelAttributes.MODELOBJECT) Object modelobject,
-            BindingResult bindingResult,
-            ModelMap model,
-            FormConfigDTO formConfigDTO,
-            HttpServletRequest request, HttpServletResponse response) {
-    
-        if(modelobject instanceof Blog) {
-            final Blog blog = (Blog)modelobject;
-            LOG.info("Blog.handle = " + blog.getHandle() + ", of type: " + (blog.getHandle() == null ? null : blog.getHandle().getClass()));
-            LOG.info("Blog.type = " + blog.getType() + ", of type: " + (blog.getType() ==  null ? null : blog.getType().getClass()));
-        }else{
-            LOG.info("Modelobject: " + modelobject + ", type: " + (modelobject == null ? null : modelobject.getClass()));
+    private byte [] toJson(Object value) {
+        try{
+            return objectWriter.writeValueAsBytes(value);
+        }catch(IOException e) {
+            throw new UncheckedIOException(e);
         }
-
-        return super.validate(modelobject, bindingResult, model, formConfigDTO, request, response);
     }
- * 
- * 
- */
+}
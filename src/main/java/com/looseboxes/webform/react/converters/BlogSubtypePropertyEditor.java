@@ -0,0 +1,42 @@
+package com.looseboxes.webform.react.converters;
+
+import com.looseboxes.webform.react.domain.BlogSubtype;
+import java.beans.PropertyEditorSupport;
+import java.util.Objects;
+
+/**
+ * Binds <code>BlogSubtype</code> properties from the id of the subtype, via
+ * the {@link BlogSubtypeResolver}. Blank text is bound as <code>null</code>.
+ *
+ * @author hp
+ */
+public class BlogSubtypePropertyEditor extends PropertyEditorSupport {
+
+    private final BlogSubtypeResolver resolver;
+
+    public BlogSubtypePropertyEditor(BlogSubtypeResolver resolver) {
+        this.resolver = Objects.requireNonNull(resolver);
+    }
+
+    @Override
+    public void setAsText(String text) {
+        if(text == null || text.trim().isEmpty()) {
+            this.setValue(null);
+            return;
+        }
+        final Long id;
+        try{
+            id = Long.valueOf(text.trim());
+        }catch(NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid BlogSubtype id: " + text, e);
+        }
+        this.setValue(resolver.find(id).orElseThrow(() -> 
+                new IllegalArgumentException("BlogSubtype not found, id: " + id)));
+    }
+
+    @Override
+    public String getAsText() {
+        final BlogSubtype value = (BlogSubtype)this.getValue();
+        return value == null || value.getId() == null ? "" : value.getId().toString();
+    }
+}
@@ -0,0 +1,105 @@
+package com.looseboxes.webform.react.converters;
+
+import com.looseboxes.webform.react.domain.BlogSubtype;
+import com.looseboxes.webform.react.services.EntityChangeEvent;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves <code>BlogSubtype</code>s by id, from a bounded least-recently-used
+ * cache of the reference data, so that binding <code>Blog.subtype</code> does
+ * not open a persistence context, let alone query the database, per request.
+ *
+ * Entries are evicted whenever the subtype is updated or deleted. Each call
+ * returns a copy, so that the cached instances are never modified.
+ *
+ * Holds at most <code>webform.react.converters.subtypeCacheMaxEntries</code> entries.
+ *
+ * @author hp
+ */
+@Component
+public class BlogSubtypeResolver {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /** Guarded by itself. In access order, least recently used first */
+    private final LinkedHashMap<Long, BlogSubtype> entries;
+
+    /** Guarded by entries. Incremented on each eviction by event */
+    private long evictions;
+
+    @Autowired
+    public BlogSubtypeResolver(EntityManagerFactory entityManagerFactory,
+            @Value("${webform.react.converters.subtypeCacheMaxEntries:10000}") int maxEntries) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory);
+        this.entries = new LinkedHashMap<Long, BlogSubtype>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BlogSubtype> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if(event.isEntityType(BlogSubtype.class) && event.getId() != null) {
+            synchronized(entries) {
+                entries.remove(((Number)event.getId()).longValue());
+                ++evictions;
+            }
+        }
+    }
+
+    /**
+     * @param id The id of the subtype
+     * @return A copy of the subtype of the id, if it exists
+     */
+    public Optional<BlogSubtype> find(Long id) {
+        BlogSubtype subtype;
+        final long evictionsBefore;
+        synchronized(entries) {
+            subtype = entries.get(id);
+            evictionsBefore = evictions;
+        }
+        if(subtype == null) {
+            subtype = this.load(id);
+            if(subtype == null) {
+                return Optional.empty();
+            }
+            synchronized(entries) {
+                // Otherwise what was loaded may already be outdated
+                if(evictions == evictionsBefore) {
+                    entries.put(id, subtype);
+                }
+            }
+        }
+        return Optional.of(copy(subtype));
+    }
+
+    private BlogSubtype load(Long id) {
+        final EntityManager em = entityManagerFactory.createEntityManager();
+        try{
+            // From the second level cache, if present
+            final BlogSubtype subtype = em.find(BlogSubtype.class, id);
+            return subtype == null ? null : copy(subtype);
+        }finally{
+            em.close();
+        }
+    }
+
+    private static BlogSubtype copy(BlogSubtype subtype) {
+        final BlogSubtype copy = new BlogSubtype();
+        copy.setId(subtype.getId());
+        copy.setName(subtype.getName());
+        copy.setType(subtype.getType());
+        return copy;
+    }
+}
@@ -0,0 +1,307 @@
+package com.looseboxes.webform.react.converters;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * The patterns of <code>webform.formats.datetime</code>, <code>webform.formats.date</code>
+ * and <code>webform.formats.time</code>, compiled once into immutable, thread
+ * safe <code>java.time</code> formatters.
+ *
+ * Most patterns are of fixed width e.g <code>yyyy-MM-dd HH:mm</code>. Each
+ * such pattern has a shape e.g <code>dddd-dd-dd dd:dd</code>, where each digit
+ * is <code>d</code>. The shape of the text to parse is computed in a single
+ * pass, and only the patterns of that shape are tried. Other patterns are
+ * tried in order, without exceptions for misses.
+ *
+ * As with <code>java.text.SimpleDateFormat</code>, text which omits the
+ * zero padding of a two digit field e.g <code>2020-5-9</code> or <code>9:05</code>
+ * is also accepted, by a variable width form of the pattern tried last. This
+ * is not possible for patterns with adjacent numeric fields e.g <code>HHmm</code>,
+ * which only accept text of the full width.
+ *
+ * @author hp
+ */
+@Component
+public final class DateFormats {
+
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private static final class Candidate{
+        private final String pattern;
+        private final DateTimeFormatter formatter;
+        private Candidate(String pattern) {
+            this.pattern = pattern;
+            // Strict, so that e.g 2020-02-30 is rejected rather than resolved to 2020-02-29
+            this.formatter = new DateTimeFormatterBuilder().appendPattern(pattern)
+                    .parseDefaulting(ChronoField.ERA, 1).toFormatter()
+                    .withResolverStyle(ResolverStyle.STRICT);
+        }
+    }
+
+    private final ZoneId zone;
+
+    private final Map<String, Candidate[]> byShape;
+
+    private final Candidate[] unshaped;
+
+    /** The variable width forms of fixed width patterns, in order */
+    private final Candidate[] unpadded;
+
+    private final DateTimeFormatter output;
+
+    @Autowired
+    public DateFormats(Environment env) {
+        this(split(env.getProperty("webform.formats.datetime")),
+                split(env.getProperty("webform.formats.date")),
+                split(env.getProperty("webform.formats.time")), ZoneId.systemDefault());
+    }
+
+    public DateFormats(List<String> datetimePatterns, List<String> datePatterns,
+            List<String> timePatterns, ZoneId zone) {
+        this.zone = Objects.requireNonNull(zone);
+        final List<Candidate> all = new ArrayList<>();
+        for(List<String> patterns : Arrays.asList(datetimePatterns, datePatterns, timePatterns)) {
+            patterns.forEach((pattern) -> all.add(new Candidate(pattern)));
+        }
+        final Map<String, List<Candidate>> shaped = new HashMap<>();
+        final List<Candidate> others = new ArrayList<>();
+        final List<Candidate> variable = new ArrayList<>();
+        for(Candidate candidate : all) {
+            final String shape = shapeOfPattern(candidate.pattern);
+            if(shape == null) {
+                others.add(candidate);
+            }else{
+                shaped.computeIfAbsent(shape, (k) -> new ArrayList<>(1)).add(candidate);
+                final String unpaddedPattern = unpaddedPattern(candidate.pattern);
+                if(unpaddedPattern != null) {
+                    variable.add(new Candidate(unpaddedPattern));
+                }
+            }
+        }
+        final Map<String, Candidate[]> map = new HashMap<>(shaped.size() * 2);
+        shaped.forEach((shape, candidates) -> map.put(shape, candidates.toArray(new Candidate[0])));
+        this.byShape = Collections.unmodifiableMap(map);
+        this.unshaped = others.toArray(new Candidate[0]);
+        this.unpadded = variable.toArray(new Candidate[0]);
+        this.output = all.isEmpty() ? null : all.get(0).formatter;
+    }
+
+    private static List<String> split(String patterns) {
+        return patterns == null ? Collections.emptyList() : Arrays.stream(patterns.split(","))
+                .map(String::trim).filter((pattern) -> ! pattern.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public boolean isEmpty() {
+        return output == null;
+    }
+
+    /**
+     * @param text The text to parse
+     * @return The date parsed from the text
+     * @throws DateTimeParseException If the text matches none of the patterns
+     */
+    public Date parse(String text) {
+        final Candidate[] candidates = byShape.get(shapeOfText(text));
+        if(candidates != null) {
+            for(Candidate candidate : candidates) {
+                final Date date = this.tryParse(candidate, text);
+                if(date != null) {
+                    return date;
+                }
+            }
+        }
+        for(Candidate candidate : unshaped) {
+            final Date date = this.tryParse(candidate, text);
+            if(date != null) {
+                return date;
+            }
+        }
+        for(Candidate candidate : unpadded) {
+            final Date date = this.tryParse(candidate, text);
+            if(date != null) {
+                return date;
+            }
+        }
+        throw new DateTimeParseException("Does not match any of the configured date formats", text, 0);
+    }
+
+    private Date tryParse(Candidate candidate, String text) {
+        final ParsePosition position = new ParsePosition(0);
+        // Does not throw on failure, unlike parse
+        if(candidate.formatter.parseUnresolved(text, position) == null ||
+                position.getIndex() != text.length()) {
+            return null;
+        }
+        final TemporalAccessor parsed;
+        try{
+            parsed = candidate.formatter.parse(text);
+        }catch(DateTimeParseException e) {
+            // Well formed, but not a valid date e.g 2020-02-30
+            return null;
+        }
+        // As java.text.DateFormat: a date only is at midnight, a time only is on 1970-01-01
+        final LocalDate date = parsed.query(TemporalQueries.localDate());
+        final LocalTime time = parsed.query(TemporalQueries.localTime());
+        if(date == null && time == null) {
+            return null;
+        }
+        final LocalDateTime dateTime = (date == null ? EPOCH : date)
+                .atTime(time == null ? LocalTime.MIDNIGHT : time);
+        return Date.from(dateTime.atZone(zone).toInstant());
+    }
+
+    /**
+     * @param date The date to format
+     * @return The date formatted with the first configured pattern
+     */
+    public String format(Date date) {
+        if(output == null) {
+            throw new IllegalStateException("No date formats configured");
+        }
+        return output.format(LocalDateTime.ofInstant(date.toInstant(), zone));
+    }
+
+    /**
+     * @return The shape of the text i.e each digit replaced with <code>d</code>
+     */
+    static String shapeOfText(String text) {
+        final char [] shape = new char[text.length()];
+        for(int i=0; i<shape.length; i++) {
+            final char ch = text.charAt(i);
+            shape[i] = ch >= '0' && ch <= '9' ? 'd' : ch;
+        }
+        return new String(shape);
+    }
+
+    /**
+     * @return The shape of the text formatted with the pattern, or <code>null</code>
+     * if that text is not of fixed width e.g for patterns with month names.
+     */
+    static String shapeOfPattern(String pattern) {
+        final StringBuilder shape = new StringBuilder(pattern.length());
+        int i = 0;
+        while(i < pattern.length()) {
+            final char ch = pattern.charAt(i);
+            if(ch == '\'') {
+                if(i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    shape.append('\'');
+                    i += 2;
+                    continue;
+                }
+                // Within quotes, two single quotes are one literal quote
+                ++i;
+                while(true) {
+                    final int end = pattern.indexOf('\'', i);
+                    if(end == -1) {
+                        return null;
+                    }
+                    shape.append(pattern, i, end);
+                    if(end + 1 < pattern.length() && pattern.charAt(end + 1) == '\'') {
+                        shape.append('\'');
+                        i = end + 2;
+                    }else{
+                        i = end + 1;
+                        break;
+                    }
+                }
+            }else if((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                int count = 1;
+                while(i + count < pattern.length() && pattern.charAt(i + count) == ch) {
+                    ++count;
+                }
+                if( ! isFixedWidth(ch, count)) {
+                    return null;
+                }
+                for(int n=0; n<count; n++) {
+                    shape.append('d');
+                }
+                i += count;
+            }else{
+                if(ch >= '0' && ch <= '9') {
+                    return null;
+                }
+                shape.append(ch);
+                ++i;
+            }
+        }
+        return shape.toString();
+    }
+
+    /**
+     * @param pattern A fixed width pattern
+     * @return The pattern with each two letter numeric field other than the
+     * year e.g <code>MM</code> reduced to one letter, so that it also parses
+     * a single digit. <code>null</code> if there is no such field, or if any 
+     * two fields are adjacent e.g <code>HHmm</code>, as the width of each 
+     * would then be ambiguous.
+     */
+    static String unpaddedPattern(String pattern) {
+        final StringBuilder result = new StringBuilder(pattern.length());
+        boolean reduced = false;
+        boolean previousIsField = false;
+        int i = 0;
+        while(i < pattern.length()) {
+            final char ch = pattern.charAt(i);
+            if(ch == '\'') {
+                final int end = pattern.indexOf('\'', i + 1);
+                result.append(pattern, i, end + 1);
+                previousIsField = false;
+                i = end + 1;
+            }else if((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                if(previousIsField) {
+                    return null;
+                }
+                int count = 1;
+                while(i + count < pattern.length() && pattern.charAt(i + count) == ch) {
+                    ++count;
+                }
+                if(count == 2 && ch != 'y' && ch != 'u') {
+                    result.append(ch);
+                    reduced = true;
+                }else{
+                    result.append(pattern, i, i + count);
+                }
+                previousIsField = true;
+                i += count;
+            }else{
+                result.append(ch);
+                previousIsField = false;
+                ++i;
+            }
+        }
+        return reduced ? result.toString() : null;
+    }
+
+    private static boolean isFixedWidth(char letter, int count) {
+        switch(letter) {
+            case 'y': case 'u': return count == 2 || count == 4;
+            case 'M': case 'd': case 'H': case 'h': case 'k': case 'K': case 'm': case 's': return count == 2;
+            case 'S': return true;
+            default: return false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.looseboxes.webform.react.converters;
+
+import java.beans.PropertyEditorSupport;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Binds <code>java.util.Date</code> properties via {@link DateFormats}.
+ * Blank text is bound as <code>null</code>.
+ *
+ * @author hp
+ */
+public class DatePropertyEditor extends PropertyEditorSupport {
+
+    private final DateFormats dateFormats;
+
+    public DatePropertyEditor(DateFormats dateFormats) {
+        this.dateFormats = Objects.requireNonNull(dateFormats);
+    }
+
+    @Override
+    public void setAsText(String text) {
+        if(text == null || text.trim().isEmpty()) {
+            this.setValue(null);
+            return;
+        }
+        try{
+            this.setValue(dateFormats.parse(text.trim()));
+        }catch(DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + text, e);
+        }
+    }
+
+    @Override
+    public String getAsText() {
+        final Date date = (Date)this.getValue();
+        return date == null ? "" : dateFormats.format(date);
+    }
+}
@@ -0,0 +1,36 @@
+package com.looseboxes.webform.react.converters;
+
+import java.beans.PropertyEditorSupport;
+import java.util.Objects;
+
+/**
+ * Binds enum properties via an {@link EnumTable}. Blank text is bound as
+ * <code>null</code>.
+ *
+ * @param <E> The type of the enum
+ * @author hp
+ */
+public class EnumPropertyEditor<E extends Enum<E>> extends PropertyEditorSupport {
+
+    private final EnumTable<E> table;
+
+    public EnumPropertyEditor(EnumTable<E> table) {
+        this.table = Objects.requireNonNull(table);
+    }
+
+    @Override
+    public void setAsText(String text) {
+        if(text == null || text.trim().isEmpty()) {
+            this.setValue(null);
+            return;
+        }
+        this.setValue(table.find(text.trim()).orElseThrow(() -> new IllegalArgumentException(
+                "Invalid " + table.getEnumType().getSimpleName() + ": " + text)));
+    }
+
+    @Override
+    public String getAsText() {
+        final Object value = this.getValue();
+        return value == null ? "" : Integer.toString(((Enum<?>)value).ordinal());
+    }
+}
@@ -0,0 +1,49 @@
+package com.looseboxes.webform.react.converters;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Resolves the constants of an enum from text, by ordinal e.g <code>"2"</code>
+ * or by name, ignoring case e.g <code>"gossip"</code>, via a table computed
+ * once rather than by parsing and searching on each call.
+ *
+ * @param <E> The type of the enum
+ * @author hp
+ */
+public final class EnumTable<E extends Enum<E>> {
+
+    private final Class<E> enumType;
+
+    private final Map<String, E> byText;
+
+    public EnumTable(Class<E> enumType) {
+        this.enumType = Objects.requireNonNull(enumType);
+        final E [] constants = enumType.getEnumConstants();
+        final Map<String, E> map = new HashMap<>(constants.length * 6);
+        for(E constant : constants) {
+            map.put(Integer.toString(constant.ordinal()), constant);
+            map.put(constant.name(), constant);
+            map.put(constant.name().toLowerCase(Locale.ROOT), constant);
+        }
+        this.byText = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @param text The ordinal or name of the constant
+     * @return The constant, if any, of the ordinal or name
+     */
+    public Optional<E> find(String text) {
+        final E constant = byText.get(text);
+        return constant != null ? Optional.of(constant) :
+                Optional.ofNullable(byText.get(text.toLowerCase(Locale.ROOT)));
+    }
+
+    public Class<E> getEnumType() {
+        return enumType;
+    }
+}
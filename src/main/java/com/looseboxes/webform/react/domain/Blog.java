@@ -1,5 +1,6 @@
 package com.looseboxes.webform.react.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
 import java.util.Date;
@@ -12,11 +13,16 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
+import javax.persistence.OrderBy;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -27,11 +33,36 @@ import javax.xml.bind.annotation.XmlTransient;
  * @author hp
  */
 @Entity
-@Table(name = "blog")
+@Table(name = "blog", uniqueConstraints = {
+    // The selection label of a blog, and its natural key
+    @UniqueConstraint(name = "uk_blog_handle", columnNames = "handle")
+}, indexes = {
+    @Index(name = "idx_blog_time_created", columnList = "time_created, id")
+})
 @XmlRootElement
+@NamedEntityGraph(name = Blog.GRAPH_SUMMARY, attributeNodes = {
+    @NamedAttributeNode("handle"), @NamedAttributeNode("description"),
+    @NamedAttributeNode("type"), @NamedAttributeNode("subtype"),
+    @NamedAttributeNode("enabled"), @NamedAttributeNode("image"),
+    @NamedAttributeNode("timeCreated")
+})
 public class Blog implements Serializable {
 
     private static final long serialVersionUID = 1L;
+    
+    /** 
+     * The blog's own fields, without any posts. Basic attributes are always
+     * loaded, as the entities are not bytecode enhanced; the graph fetches
+     * the subtype in the same query.
+     */
+    public static final String GRAPH_SUMMARY = "blog-summary";
+
+    /**
+     * The blog-summary graph, and the most recent page of the posts. Not a
+     * named entity graph, as a graph cannot bound the posts it fetches. See
+     * {@link com.looseboxes.webform.react.services.BlogService#findBlogWithRecentPosts(java.lang.Integer, int)}
+     */
+    public static final String GRAPH_WITH_RECENT_POSTS = "blog-with-recent-posts";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -67,7 +98,13 @@ public class Blog implements Serializable {
     @Temporal(TemporalType.TIMESTAMP)
     private Date timeCreated;
     
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "blog")
+    /**
+     * Could contain thousands of posts, so never fetched eagerly, nor 
+     * serialized. Page through the posts via <code>BlogControllerRest</code>
+     */
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "blog")
+    @OrderBy("timeCreated DESC")
+    @JsonIgnore
     private List<Post> postList;
 
     public Blog() { }
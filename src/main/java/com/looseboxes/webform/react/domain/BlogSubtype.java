@@ -1,6 +1,7 @@
 package com.looseboxes.webform.react.domain;
 
 import java.io.Serializable;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -8,18 +9,58 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+/**
+ * Static reference data, held in a bounded second level cache region. 
+ * The cache regions are configured in <code>ehcache.xml</code>
+ */
 @Entity
-@Table(name = "blog_subtype")
+@Table(name = "blog_subtype", indexes = {
+    // Also serves the findByType query, ordered by id
+    @Index(name = "idx_blog_subtype_type", columnList = "type, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BlogSubtype.CACHE_REGION)
+@NamedQuery(name = BlogSubtype.QUERY_FIND_BY_TYPE, 
+        query = "SELECT s FROM BlogSubtype s WHERE s.type = :type ORDER BY s.id",
+        hints = {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = BlogSubtype.QUERY_CACHE_REGION)
+        })
 public class BlogSubtype implements Serializable {
 
     private static final long serialVersionUID = 1L;
-
+    
+    public static final String CACHE_REGION = "blogSubtype";
+    
+    public static final String QUERY_CACHE_REGION = "blogSubtypesByType";
+    
+    public static final String QUERY_FIND_BY_TYPE = "BlogSubtype.findByType";
+
+    /**
+     * The ids fetched per call to the sequence. Must equal the increment of
+     * <code>blog_subtype_seq</code> in the migrations. The default of
+     * <code>webform.react.sampledata.batchSize</code>
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Sequence (rather than IDENTITY) generated, so that inserts of this 
+     * reference data may be grouped into JDBC batches. A batch size other
+     * than the allocation size is reported at startup
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "blog_subtype_seq")
+    @SequenceGenerator(name = "blog_subtype_seq", sequenceName = "blog_subtype_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
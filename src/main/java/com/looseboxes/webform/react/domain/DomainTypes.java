@@ -0,0 +1,31 @@
+package com.looseboxes.webform.react.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author hp
+ */
+public final class DomainTypes {
+    
+    private static final List<Class<?>> ENTITY_TYPES = Collections.unmodifiableList(
+            Arrays.asList(Blog.class, BlogSubtype.class, Post.class, Tag.class));
+    
+    private DomainTypes() { }
+    
+    public static List<Class<?>> getEntityTypes() {
+        return ENTITY_TYPES;
+    }
+
+    /**
+     * @param modelname The model name e.g <code>blog</code> or <code>Blog</code>
+     * @return The entity type whose simple name matches the model name, ignoring case
+     */
+    public static Optional<Class<?>> findEntityType(String modelname) {
+        return ENTITY_TYPES.stream()
+                .filter((type) -> type.getSimpleName().equalsIgnoreCase(modelname))
+                .findFirst();
+    }
+}
@@ -10,6 +10,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
@@ -25,7 +26,11 @@ import javax.xml.bind.annotation.XmlTransient;
  * @author hp
  */
 @Entity
-@Table(name = "post")
+@Table(name = "post", indexes = {
+    // The posts of a blog, most recent first
+    @Index(name = "idx_post_blog_time_created", columnList = "blog, time_created, id"),
+    @Index(name = "idx_post_time_created", columnList = "time_created, id")
+})
 @XmlRootElement
 public class Post implements Serializable {
 
@@ -66,7 +71,9 @@ public class Post implements Serializable {
 
     @JoinTable(name = "tag_post", joinColumns = {
         @JoinColumn(name = "post", referencedColumnName = "id")}, inverseJoinColumns = {
-        @JoinColumn(name = "tag", referencedColumnName = "id")})
+        @JoinColumn(name = "tag", referencedColumnName = "id")}, indexes = {
+        // The posts of a tag i.e Tag.postList. By post, via the foreign key index
+        @Index(name = "idx_tag_post_tag", columnList = "tag, post")})
     @ManyToMany
     private List<Tag> tagList;
     
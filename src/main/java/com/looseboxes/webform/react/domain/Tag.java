@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.Date;
 import java.util.List;
 import javax.persistence.Basic;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -15,6 +16,8 @@ import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * @author hp
@@ -22,10 +25,14 @@ import javax.xml.bind.annotation.XmlTransient;
 @Entity
 @Table(name = "tag")
 @XmlRootElement
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Tag.CACHE_REGION)
 public class Tag implements Serializable {
 
     private static final long serialVersionUID = 1L;
     
+    public static final String CACHE_REGION = "tag";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Basic(optional = false)
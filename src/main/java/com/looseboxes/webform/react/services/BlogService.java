@@ -0,0 +1,118 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.domain.Blog;
+import com.looseboxes.webform.react.web.BlogWithRecentPosts;
+import com.looseboxes.webform.react.web.KeysetPage;
+import com.looseboxes.webform.react.web.PostSummary;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * @author hp
+ */
+@Service
+public class BlogService {
+
+    public static final String FETCH_GRAPH = "javax.persistence.fetchgraph";
+
+    @PersistenceContext private EntityManager entityManager;
+
+    private final int maxLimit;
+
+    @Autowired
+    public BlogService(@Value("${webform.react.paging.maxLimit:100}") int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @param id The id of the Blog to find
+     * @return The Blog with the specified id, without its posts. See
+     * {@link #getPosts(java.lang.Integer, java.lang.String, int)}
+     */
+    public Optional<Blog> findBlog(Integer id) {
+        final EntityGraph<?> graph = entityManager.getEntityGraph(Blog.GRAPH_SUMMARY);
+        return Optional.ofNullable(entityManager.find(
+                Blog.class, id, Collections.singletonMap(FETCH_GRAPH, graph)));
+    }
+
+    /**
+     * @param id The id of the Blog to find
+     * @param limit The maximum number of recent posts to return
+     * @return The Blog with the specified id, and the first page of its posts
+     * @see BlogWithRecentPosts
+     */
+    public Optional<BlogWithRecentPosts> findBlogWithRecentPosts(Integer id, int limit) {
+        return this.findBlog(id).map((blog) -> new BlogWithRecentPosts(
+                blog, this.getPosts(blog.getId(), null, limit)));
+    }
+
+    /**
+     * Posts are returned most recent first, and paged by keyset. The tokens
+     * are those of {@link KeysetPageService} for posts ordered by
+     * {@link KeysetPageService#ORDER_BY_TIME_CREATED}, so either may be used
+     * to continue from a page of the other.
+     *
+     * @param blogId The id of the Blog whose posts will be returned
+     * @param after The {@link KeysetPage#getNext() next} token of the previous
+     * page, or <code>null</code> for the first page.
+     * @param limit The maximum number of posts to return. Capped at
+     * <code>webform.react.paging.maxLimit</code>
+     * @return The requested page of posts
+     * @throws IllegalArgumentException If the token is not one issued for
+     * posts ordered by time created.
+     */
+    public KeysetPage<PostSummary> getPosts(Integer blogId, String after, int limit) {
+
+        final StringBuilder jpql = new StringBuilder(
+                "SELECT NEW com.looseboxes.webform.react.web.PostSummary(" +
+                "p.id, p.title, p.image, p.timeCreated, p.timeModified) " +
+                "FROM Post p WHERE p.blog.id = :blogId");
+
+        final String [] position = after == null ? null :
+                KeysetPageService.decode(after, KeysetPageService.ORDER_BY_TIME_CREATED);
+        if(position != null) {
+            // Resolved by a range scan of the index on (blog, time_created, id)
+            jpql.append(" AND (p.timeCreated < :afterTime OR (p.timeCreated = :afterTime AND p.id < :afterId))");
+        }
+        jpql.append(" ORDER BY p.timeCreated DESC, p.id DESC");
+
+        final int pageSize = Math.max(1, Math.min(limit, maxLimit));
+
+        // Fetch one more than required, to determine if there is a next page
+        // without issuing a count query
+        final TypedQuery<PostSummary> query = entityManager
+                .createQuery(jpql.toString(), PostSummary.class)
+                .setParameter("blogId", blogId)
+                .setMaxResults(pageSize + 1);
+        if(position != null) {
+            query.setParameter("afterTime", KeysetPageService.parseTime(position[0]));
+            query.setParameter("afterId", this.parseId(position[1]));
+        }
+
+        final List<PostSummary> posts = query.getResultList();
+        if(posts.size() <= pageSize) {
+            return new KeysetPage<>(posts, null);
+        }
+
+        final PostSummary last = posts.get(pageSize - 1);
+        return new KeysetPage<>(posts.subList(0, pageSize), KeysetPageService.encode(
+                KeysetPageService.ORDER_BY_TIME_CREATED,
+                KeysetPageService.formatTime(last.getTimeCreated()), String.valueOf(last.getId())));
+    }
+
+    private Integer parseId(String text) {
+        try{
+            return Integer.valueOf(text);
+        }catch(NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid token", e);
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import com.looseboxes.webform.react.domain.Blog;
+import com.looseboxes.webform.react.domain.Post;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * A content-addressed store of files. Each file is stored once, under the
+ * SHA-256 of its content, in a directory sharded by the first two bytes of
+ * the hash e.g:
+ * <pre>
+ * [bcfileupload.outputDir]/store/9f/86/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08
+ * </pre>
+ * Files are located at <code>/api/webform/files/[hash].[ext]</code>. The
+ * extension is only used to determine the content type when serving.
+ *
+ * The references to each file from <code>Blog.image</code> and <code>Post.image</code>
+ * are counted; counts are loaded at startup and kept up to date via
+ * {@link EntityChangeEvent}s. Files which are not referenced are deleted once
+ * they have been unreferenced for <code>webform.react.store.orphanTtlMinutes</code>
+ * e.g uploaded with a form which was never submitted. Committing content
+ * marks its file as recently modified, under the same per-hash lock as the
+ * sweep re-checks the file before deleting it, so content committed but not
+ * yet referenced is kept for at least that long.
+ *
+ * Only one instance of the application may use a store directory. Both the
+ * reference counts and the locks are held in memory, so another instance
+ * could delete content this one has just committed.
+ *
+ * @author hp
+ */
+@Service
+public class ContentStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContentStore.class);
+
+    public static final String FILES_PATH = WebformControllerConstants.FILES_PATH;
+
+    private static final Pattern LOCATION = Pattern.compile(
+            Pattern.quote(FILES_PATH + '/') + "([0-9a-f]{64})(\\.[a-z0-9]{1,8})?");
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String IMAGE = "image";
+
+    public static final String THUMBNAIL = "thumbnail";
+
+    private static final String THUMBNAIL_SUFFIX = ".thumb.jpg";
+
+    private final Path root;
+
+    private final Path tmp;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final long orphanTtlMillis;
+
+    private final Map<String, AtomicInteger> refCounts = new ConcurrentHashMap<>();
+
+    /** Guard the file of each hash, striped by the first byte of the hash */
+    private final Object [] locks = new Object[256];
+
+    /**
+     * Writes content to a temporary file, computing the hash as the content
+     * is written. {@link #commit()} moves the file into the store, unless
+     * the store already has the same content.
+     */
+    public final class Writer implements AutoCloseable{
+        private final Path file;
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        private final String extension;
+        private long size;
+        private boolean done;
+        private Writer(String extension) throws IOException {
+            this.file = Files.createTempFile(tmp, "upload", ".tmp");
+            this.channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.digest = newDigest();
+            this.extension = extension;
+        }
+        public void write(ByteBuffer bytes) throws IOException {
+            bytes.mark();
+            while(bytes.hasRemaining()) {
+                size += channel.write(bytes);
+            }
+            bytes.reset();
+            digest.update(bytes);
+        }
+        /**
+         * @return The location of the content
+         */
+        public String commit() throws IOException {
+            channel.force(false);
+            channel.close();
+            done = true;
+            final String hash = toHex(digest.digest());
+            final Path target = resolve(hash);
+            synchronized(lockFor(hash)) {
+                if(Files.exists(target)) {
+                    Files.deleteIfExists(file);
+                    this.touch(target);
+                    LOG.debug("Deduplicated {} bytes as {}", size, hash);
+                }else{
+                    Files.createDirectories(target.getParent());
+                    // Replaces any file moved there concurrently, which would have the same content
+                    Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                    LOG.debug("Stored {} bytes as {}", size, hash);
+                }
+            }
+            return FILES_PATH + '/' + hash + extension;
+        }
+        private void touch(Path target) throws IOException {
+            // So that the orphan sweep counts from the latest upload
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+        public long getSize() {
+            return size;
+        }
+        @Override
+        public void close() throws IOException {
+            if( ! done) {
+                done = true;
+                channel.close();
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Autowired
+    public ContentStore(Environment env, EntityManagerFactory entityManagerFactory) {
+        this.root = Paths.get(env.getRequiredProperty("bcfileupload.outputDir"), "store");
+        this.tmp = root.resolve("tmp");
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory);
+        this.orphanTtlMillis = TimeUnit.MINUTES.toMillis(
+                env.getProperty("webform.react.store.orphanTtlMinutes", Long.class, 24 * 60L));
+        for(int i=0; i<locks.length; i++) {
+            locks[i] = new Object();
+        }
+        try{
+            Files.createDirectories(tmp);
+        }catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param filename The name of the file on the client, used only for its
+     * extension. May be <code>null</code>
+     */
+    public Writer newWriter(String filename) throws IOException {
+        return new Writer(this.getExtension(filename));
+    }
+
+    public Optional<Path> find(String hash) {
+        if(hash == null || ! HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        final Path path = this.resolve(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * @param location The location of the content e.g <code>/api/webform/files/[hash].jpg</code>
+     * @return The hash of the content, if the location is of this store.
+     */
+    public Optional<String> getHash(String location) {
+        if(location == null) {
+            return Optional.empty();
+        }
+        final Matcher m = LOCATION.matcher(location);
+        return m.matches() ? Optional.of(m.group(1)) : Optional.empty();
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Integer.parseInt(hash.substring(0, 2), 16)];
+    }
+
+    private Path resolve(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * @param hash The hash of the content
+     * @return The path of the thumbnail of the content, whether it exists or not
+     */
+    public Path getThumbnailPath(String hash) {
+        if( ! HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a content hash: " + hash);
+        }
+        return this.resolve(hash).resolveSibling(hash + THUMBNAIL_SUFFIX);
+    }
+
+    /**
+     * @param hash The hash of the content
+     * @return The location of the thumbnail of the content e.g 
+     * <code>/api/webform/files/[hash]/thumbnail</code>
+     */
+    public String getThumbnailLocation(String hash) {
+        return FILES_PATH + '/' + hash + '/' + THUMBNAIL;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRefCounts() {
+        final EntityManager em = entityManagerFactory.createEntityManager();
+        try{
+            for(Class<?> type : new Class<?>[]{Blog.class, Post.class}) {
+                final List<String> images = em.createQuery("SELECT e.image FROM " + type.getSimpleName() +
+                        " e WHERE e.image LIKE :prefix", String.class)
+                        .setParameter("prefix", FILES_PATH + "/%")
+                        .getResultList();
+                images.forEach(this::retain);
+            }
+        }finally{
+            em.close();
+        }
+        LOG.info("Loaded reference counts of {} stored files", refCounts.size());
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if( ! event.isEntityType(Blog.class) && ! event.isEntityType(Post.class)) {
+            return;
+        }
+        final Object entity = event.getEntity();
+        final String image = entity instanceof Blog ? ((Blog)entity).getImage() : ((Post)entity).getImage();
+        switch(event.getType()) {
+            case CREATED:
+                this.retain(image);
+                break;
+            case DELETED:
+                this.release(image);
+                break;
+            case UPDATED:
+                // The previous image may be null e.g an image added to a Post which had none
+                if(event.hasPreviousValue(IMAGE)) {
+                    final Object previous = event.getPreviousValue(IMAGE).orElse(null);
+                    if( ! Objects.equals(previous, image)) {
+                        this.release((String)previous);
+                        this.retain(image);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(String.valueOf(event.getType()));
+        }
+    }
+
+    private void retain(String location) {
+        this.getHash(location).ifPresent((hash) -> {
+            synchronized(this.lockFor(hash)) {
+                refCounts.computeIfAbsent(hash, (k) -> new AtomicInteger()).incrementAndGet();
+            }
+        });
+    }
+
+    private void release(String location) {
+        this.getHash(location).ifPresent((hash) -> {
+            // As retain, so that a count is not removed while being incremented
+            synchronized(this.lockFor(hash)) {
+                final AtomicInteger count = refCounts.get(hash);
+                if(count != null && count.decrementAndGet() <= 0) {
+                    refCounts.remove(hash, count);
+                    this.find(hash).ifPresent((path) -> {
+                        try{
+                            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+                        }catch(IOException e) {
+                            LOG.warn("Failed to touch: {}, {}", path, e.toString());
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    public int getRefCount(String hash) {
+        final AtomicInteger count = refCounts.get(hash);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Delete the files which have not been referenced for longer than
+     * <code>webform.react.store.orphanTtlMinutes</code>
+     * @return The number of files deleted
+     */
+    @Scheduled(fixedDelayString = "${webform.react.store.sweepIntervalMillis:3600000}",
+            initialDelayString = "${webform.react.store.sweepIntervalMillis:3600000}")
+    public int sweep() {
+        final long expiry = System.currentTimeMillis() - orphanTtlMillis;
+        final List<Path> orphans;
+        try(Stream<Path> paths = Files.walk(root, 3)) {
+            orphans = paths.filter((path) -> HASH.matcher(path.getFileName().toString()).matches())
+                    .filter((path) -> this.getRefCount(path.getFileName().toString()) == 0)
+                    .filter((path) -> this.isModifiedBefore(path, expiry))
+                    .collect(Collectors.toList());
+        }catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int count = 0;
+        for(Path path : orphans) {
+            final String hash = path.getFileName().toString();
+            synchronized(this.lockFor(hash)) {
+                // Committed or referenced since listed
+                if(this.getRefCount(hash) != 0 || ! this.isModifiedBefore(path, expiry)) {
+                    continue;
+                }
+                if(this.delete(path)) {
+                    ++count;
+                }
+                this.delete(path.resolveSibling(hash + THUMBNAIL_SUFFIX));
+            }
+        }
+        // Left behind by uploads which did not complete
+        try(Stream<Path> paths = Files.list(tmp)) {
+            paths.filter((path) -> this.isModifiedBefore(path, expiry)).forEach(this::delete);
+        }catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LOG.debug("Deleted {} unreferenced files", count);
+        return count;
+    }
+
+    private boolean delete(Path path) {
+        try{
+            return Files.deleteIfExists(path);
+        }catch(IOException e) {
+            LOG.warn("Failed to delete: {}, {}", path, e.toString());
+            return false;
+        }
+    }
+
+    private boolean isModifiedBefore(Path path, long time) {
+        try{
+            return Files.getLastModifiedTime(path).toMillis() < time;
+        }catch(IOException e) {
+            return false;
+        }
+    }
+
+    private String getExtension(String filename) {
+        if(filename == null) {
+            return "";
+        }
+        final int n = filename.lastIndexOf('.');
+        final String ext = n == -1 ? "" : filename.substring(n).toLowerCase();
+        return ext.matches("\\.[a-z0-9]{1,8}") ? ext : "";
+    }
+
+    private static MessageDigest newDigest() {
+        try{
+            return MessageDigest.getInstance("SHA-256");
+        }catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte [] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for(byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
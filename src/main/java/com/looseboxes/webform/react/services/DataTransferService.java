@@ -0,0 +1,262 @@
+package com.looseboxes.webform.react.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.looseboxes.webform.react.BatchPersister;
+import com.looseboxes.webform.react.web.ImportResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.FetchType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToOne;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.PluralAttribute;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exports and imports entities as newline delimited JSON (NDJSON), one
+ * entity per line, in memory independent of the number of entities.
+ *
+ * Exports scroll a forward-only cursor in a <code>StatelessSession</code>,
+ * so no persistence context accumulates, and write each entity via a
+ * streaming generator. Eager single valued associations are fetched by join;
+ * the ids of owned many-to-many associations (e.g <code>Post.tagList</code>)
+ * are looked up per chunk of <code>webform.react.transfer.fetchSize</code>.
+ * With MySQL, add <code>useCursorFetch=true</code> to the JDBC URL, otherwise
+ * the driver reads the entire result set into memory.
+ *
+ * Imports parse lazily, and persist each chunk of <code>webform.react.transfer.chunkSize</code>
+ * entities in a transaction of its own, flushing every JDBC batch. Ids in the
+ * input are ignored, new ids are generated; associations are by id.
+ *
+ * @author hp
+ */
+@Service
+public class DataTransferService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataTransferService.class);
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectWriter writer;
+
+    private final ObjectMapper objectMapper;
+
+    private final int fetchSize;
+
+    private final int chunkSize;
+
+    private final int batchSize;
+
+    @Autowired
+    public DataTransferService(EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper, Environment env) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        this.fetchSize = env.getProperty("webform.react.transfer.fetchSize", Integer.class, 500);
+        this.chunkSize = env.getProperty("webform.react.transfer.chunkSize", Integer.class, 1000);
+        this.batchSize = env.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class, 50);
+    }
+
+    /**
+     * @param entityType The type of the entities to export
+     * @param out Receives the entities, one JSON object per line, in order of id.
+     * Not closed by this method.
+     * @return The number of entities exported
+     */
+    public long exportAll(Class<?> entityType, OutputStream out) throws IOException {
+
+        final EntityType<?> type = entityManagerFactory.getMetamodel().entity(entityType);
+        final String idName = this.getIdName(type);
+
+        final StringBuilder jpql = new StringBuilder("SELECT e FROM ").append(type.getName()).append(" e");
+        final List<PluralAttribute<?, ?, ?>> manyToMany = new ArrayList<>();
+        for(Attribute<?, ?> attribute : type.getAttributes()) {
+            if(this.isEagerSingular(attribute)) {
+                jpql.append(" LEFT JOIN FETCH e.").append(attribute.getName());
+            }else if(this.isOwnedManyToMany(attribute)) {
+                manyToMany.add((PluralAttribute<?, ?, ?>)attribute);
+            }
+        }
+        jpql.append(" ORDER BY e.").append(idName);
+
+        final SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        long count = 0;
+        try(StatelessSession session = sessionFactory.openStatelessSession()) {
+            final Transaction tx = session.beginTransaction();
+            try(ScrollableResults rows = session.createQuery(jpql.toString())
+                    .setFetchSize(fetchSize).setReadOnly(true).scroll(ScrollMode.FORWARD_ONLY);
+                    SequenceWriter sequence = writer.writeValues(out)) {
+                final List<Object> chunk = new ArrayList<>(fetchSize);
+                while(rows.next()) {
+                    chunk.add(rows.get(0));
+                    if(chunk.size() == fetchSize) {
+                        count += this.write(session, type, idName, manyToMany, chunk, sequence);
+                    }
+                }
+                count += this.write(session, type, idName, manyToMany, chunk, sequence);
+            }finally{
+                // Read only
+                tx.rollback();
+            }
+        }
+        if(count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        LOG.debug("Exported {} {}", count, type.getName());
+        return count;
+    }
+
+    private int write(StatelessSession session, EntityType<?> type, String idName,
+            List<PluralAttribute<?, ?, ?>> manyToMany, List<Object> chunk,
+            SequenceWriter sequence) throws IOException {
+        if(chunk.isEmpty()) {
+            return 0;
+        }
+        for(PluralAttribute<?, ?, ?> attribute : manyToMany) {
+            this.setReferences(session, type, idName, attribute, chunk);
+        }
+        for(Object entity : chunk) {
+            sequence.write(entity);
+        }
+        final int count = chunk.size();
+        chunk.clear();
+        return count;
+    }
+
+    /**
+     * Replace the many-to-many association of each entity of the chunk, with
+     * instances of the associated type holding only the id.
+     */
+    private void setReferences(StatelessSession session, EntityType<?> type, String idName,
+            PluralAttribute<?, ?, ?> attribute, List<Object> chunk) {
+        final EntityType<?> elementType = entityManagerFactory.getMetamodel()
+                .entity(attribute.getElementType().getJavaType());
+        final String elementIdName = this.getIdName(elementType);
+        final List<Object> ids = new ArrayList<>(chunk.size());
+        for(Object entity : chunk) {
+            ids.add(new BeanWrapperImpl(entity).getPropertyValue(idName));
+        }
+        final List<?> pairs = session.createQuery("SELECT e." + idName + ", r." + elementIdName +
+                " FROM " + type.getName() + " e JOIN e." + attribute.getName() + " r" +
+                " WHERE e." + idName + " IN (:ids)").setParameterList("ids", ids).list();
+        final Map<Object, List<Object>> references = new HashMap<>(chunk.size() * 2);
+        for(Object pair : pairs) {
+            final Object [] columns = (Object[])pair;
+            final Object reference = BeanUtils.instantiateClass(elementType.getJavaType());
+            new BeanWrapperImpl(reference).setPropertyValue(elementIdName, columns[1]);
+            references.computeIfAbsent(columns[0], (k) -> new ArrayList<>()).add(reference);
+        }
+        for(Object entity : chunk) {
+            final BeanWrapper bean = new BeanWrapperImpl(entity);
+            final List<Object> list = references.get(bean.getPropertyValue(idName));
+            bean.setPropertyValue(attribute.getName(), list == null ? new ArrayList<>(0) : list);
+        }
+    }
+
+    /**
+     * @param entityType The type of the entities to import
+     * @param in Supplies the entities, one JSON object per line. Not closed by this method.
+     * @return The result of the import
+     */
+    public ImportResult importAll(Class<?> entityType, InputStream in) {
+
+        final EntityType<?> type = entityManagerFactory.getMetamodel().entity(entityType);
+        final String idName = this.getIdName(type);
+        final BatchPersister persister = new BatchPersister(entityManagerFactory, batchSize);
+        final ObjectReader reader = objectMapper.readerFor(entityType);
+
+        long imported = 0;
+        MappingIterator<Object> values = null;
+        try{
+            values = reader.readValues(in);
+            final List<Object> chunk = new ArrayList<>(chunkSize);
+            while(values.hasNextValue()) {
+                final Object entity = values.nextValue();
+                new BeanWrapperImpl(entity).setPropertyValue(idName, null);
+                chunk.add(entity);
+                if(chunk.size() == chunkSize) {
+                    imported += this.persist(persister, chunk);
+                }
+            }
+            imported += this.persist(persister, chunk);
+        }catch(IOException | RuntimeException e) {
+            final int line = values == null ? -1 : values.getCurrentLocation().getLineNr();
+            LOG.warn("Import of {} failed at line {}, after {} imported", type.getName(), line, imported, e);
+            return ImportResult.failure(imported, e.toString(), line);
+        }
+        LOG.debug("Imported {} {}", imported, type.getName());
+        return ImportResult.success(imported);
+    }
+
+    private int persist(BatchPersister persister, Collection<Object> chunk) {
+        if(chunk.isEmpty()) {
+            return 0;
+        }
+        final int count = persister.persistAll(chunk.iterator());
+        chunk.clear();
+        return count;
+    }
+
+    private String getIdName(EntityType<?> type) {
+        return type.getId(type.getIdType().getJavaType()).getName();
+    }
+
+    private boolean isEagerSingular(Attribute<?, ?> attribute) {
+        if( ! attribute.isAssociation() || attribute.isCollection() ||
+                ! (attribute.getJavaMember() instanceof AnnotatedElement)) {
+            return false;
+        }
+        final AnnotatedElement member = (AnnotatedElement)attribute.getJavaMember();
+        final ManyToOne manyToOne = member.getAnnotation(ManyToOne.class);
+        if(manyToOne != null) {
+            return manyToOne.fetch() == FetchType.EAGER;
+        }
+        final OneToOne oneToOne = member.getAnnotation(OneToOne.class);
+        return oneToOne != null && oneToOne.fetch() == FetchType.EAGER;
+    }
+
+    private boolean isOwnedManyToMany(Attribute<?, ?> attribute) {
+        if(attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.MANY_TO_MANY ||
+                ! (attribute.getJavaMember() instanceof AnnotatedElement)) {
+            return false;
+        }
+        final ManyToMany manyToMany = ((AnnotatedElement)attribute.getJavaMember()).getAnnotation(ManyToMany.class);
+        return manyToMany != null && manyToMany.mappedBy().isEmpty();
+    }
+}
@@ -0,0 +1,49 @@
+package com.looseboxes.webform.react.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a version per entity type, incremented whenever an entity of the
+ * type is created, updated or deleted. These versions make up the ETags of
+ * responses which depend only on the data of the types.
+ *
+ * Versions start afresh with each run of the application, so the ETags also
+ * include the start time of the application.
+ *
+ * @author hp
+ */
+@Service
+public class DataVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        versions.computeIfAbsent(event.getEntityType(), (k) -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long getVersion(Class<?> entityType) {
+        final AtomicLong version = versions.get(entityType);
+        return version == null ? 0L : version.get();
+    }
+
+    /**
+     * @param name Distinguishes the response from others with the same entity types
+     * @param entityTypes The entity types whose data the response depends on
+     * @return A strong ETag, quoted e.g <code>"subtype.PERSONAL-kf3x9a-1-4"</code>
+     */
+    public String getETag(String name, Class<?>... entityTypes) {
+        final StringBuilder etag = new StringBuilder().append('"').append(name)
+                .append('-').append(epoch);
+        for(Class<?> entityType : entityTypes) {
+            etag.append('-').append(this.getVersion(entityType));
+        }
+        return etag.append('"').toString();
+    }
+}
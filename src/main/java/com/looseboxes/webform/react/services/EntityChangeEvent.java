@@ -0,0 +1,93 @@
+package com.looseboxes.webform.react.services;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a transaction which created, updated or deleted an entity 
+ * has been committed.
+ * 
+ * @author hp
+ */
+public class EntityChangeEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+    
+    public enum Type{CREATED, UPDATED, DELETED}
+
+    private final Type type;
+    
+    private final Object id;
+    
+    private final String [] propertyNames;
+    
+    private final Object [] previousState;
+
+    /**
+     * @param entity The entity which was changed
+     * @param type The type of change
+     * @param id The id of the entity which was changed
+     * @param propertyNames The names of the entity's persistent properties
+     * @param previousState The values of the persistent properties, before 
+     * the change. In the same order as the property names. May be 
+     * <code>null</code> e.g for newly created entities.
+     */
+    public EntityChangeEvent(Object entity, Type type, Object id, 
+            String [] propertyNames, Object [] previousState) {
+        super(entity);
+        this.type = Objects.requireNonNull(type);
+        this.id = id;
+        this.propertyNames = Objects.requireNonNull(propertyNames);
+        this.previousState = previousState;
+    }
+    
+    public Object getEntity() {
+        return this.getSource();
+    }
+
+    public Class<?> getEntityType() {
+        return this.getSource().getClass();
+    }
+
+    public boolean isEntityType(Class<?> entityType) {
+        return entityType.isInstance(this.getSource());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Object getId() {
+        return id;
+    }
+    
+    /**
+     * @param propertyName The name of the property
+     * @return <code>true</code> if the value of the property before the change
+     * is available, even if that value was <code>null</code>
+     */
+    public boolean hasPreviousValue(String propertyName) {
+        return previousState != null && Arrays.asList(propertyNames).contains(propertyName);
+    }
+
+    /**
+     * @param propertyName The name of the property whose previous value will be returned
+     * @return The value of the property before the change, if available and not
+     * <code>null</code>. See {@link #hasPreviousValue(java.lang.String)}
+     */
+    public Optional<Object> getPreviousValue(String propertyName) {
+        if(previousState == null) {
+            return Optional.empty();
+        }
+        final int index = Arrays.asList(propertyNames).indexOf(propertyName);
+        return index == -1 ? Optional.empty() : Optional.ofNullable(previousState[index]);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangeEvent{" + "type=" + type + ", entityType=" + 
+                this.getEntityType().getSimpleName() + ", id=" + id + '}';
+    }
+}
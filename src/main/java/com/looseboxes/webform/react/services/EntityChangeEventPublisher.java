@@ -0,0 +1,101 @@
+package com.looseboxes.webform.react.services;
+
+import java.util.Objects;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes an {@link EntityChangeEvent} for each entity created, updated or 
+ * deleted via the <code>EntityManagerFactory</code>. That is irrespective of
+ * whether the change was made via the <code>EntityRepository</code>, 
+ * spring-data-rest or any other means.
+ * 
+ * @author hp
+ */
+@Component
+public class EntityChangeEventPublisher implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener{
+    
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityChangeEventPublisher.class);
+    
+    private final transient EntityManagerFactory entityManagerFactory;
+    
+    private final transient ApplicationEventPublisher publisher;
+
+    @Autowired
+    public EntityChangeEventPublisher(EntityManagerFactory entityManagerFactory, 
+            ApplicationEventPublisher publisher) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory);
+        this.publisher = Objects.requireNonNull(publisher);
+    }
+    
+    @PostConstruct
+    public void register() {
+        final EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        this.publish(new EntityChangeEvent(event.getEntity(), EntityChangeEvent.Type.CREATED,
+                event.getId(), event.getPersister().getPropertyNames(), null));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        this.publish(new EntityChangeEvent(event.getEntity(), EntityChangeEvent.Type.UPDATED,
+                event.getId(), event.getPersister().getPropertyNames(), event.getOldState()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        this.publish(new EntityChangeEvent(event.getEntity(), EntityChangeEvent.Type.DELETED,
+                event.getId(), event.getPersister().getPropertyNames(), event.getDeletedState()));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) { }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) { }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) { }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return true;
+    }
+    
+    private void publish(EntityChangeEvent event) {
+        LOG.trace("Publishing: {}", event);
+        try{
+            publisher.publishEvent(event);
+        }catch(RuntimeException e) {
+            // The transaction is already committed. Don't let a failing 
+            // listener surface as a failure of the change itself
+            LOG.warn("Failed to handle: {}", event, e);
+        }
+    }
+}
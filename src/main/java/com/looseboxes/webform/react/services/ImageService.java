@@ -0,0 +1,228 @@
+package com.looseboxes.webform.react.services;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resizes images, and keeps resized variants of images on disk, at
+ * <code>[bcfileupload.outputDir]/variants/[width]/[key]</code>.
+ *
+ * Only the widths <code>webform.react.images.widths</code> are generated;
+ * a requested width is rounded up to the nearest of these, to bound the
+ * number of variants per image. The variants are evicted least recently
+ * used first, once their total size exceeds <code>webform.react.images.variantCacheMaxBytes</code>.
+ *
+ * @author hp
+ */
+@Service
+public class ImageService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageService.class);
+
+    /** The request parameter holding the requested width of an image */
+    public static final String WIDTH = "w";
+
+    private static final List<String> EXTENSIONS = Arrays.asList(".jpg", ".jpeg", ".png", ".gif", ".bmp");
+
+    private final Path variantsDir;
+
+    private final int [] widths;
+
+    private final long maxVariantBytes;
+
+    /** Guarded by itself. In access order, least recently used first */
+    private final LinkedHashMap<Path, Long> variants = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long variantBytes;
+
+    private final Map<Path, Object> locks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ImageService(Environment env) {
+        this.variantsDir = Paths.get(env.getRequiredProperty("bcfileupload.outputDir"), "variants")
+                .toAbsolutePath().normalize();
+        this.widths = Arrays.stream(env.getProperty("webform.react.images.widths", "100,200,400,800").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).sorted().toArray();
+        this.maxVariantBytes = env.getProperty(
+                "webform.react.images.variantCacheMaxBytes", Long.class, 256L * 1024 * 1024);
+        try{
+            Files.createDirectories(variantsDir);
+            this.loadVariants();
+        }catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void loadVariants() throws IOException {
+        final List<Path> existing;
+        try(Stream<Path> paths = Files.walk(variantsDir)) {
+            existing = paths.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparingLong(this::getLastModified))
+                    .collect(Collectors.toList());
+        }
+        synchronized(variants) {
+            for(Path path : existing) {
+                final long size = Files.size(path);
+                variants.put(path, size);
+                variantBytes += size;
+            }
+            this.evict();
+        }
+        LOG.debug("Loaded {} image variants, {} bytes", existing.size(), variantBytes);
+    }
+
+    public boolean isImage(String filename) {
+        final String name = filename.toLowerCase(Locale.ROOT);
+        return EXTENSIONS.stream().anyMatch(name::endsWith);
+    }
+
+    /**
+     * @param requested The requested width
+     * @return The smallest configured width not less than the requested width,
+     * or empty if the requested width is larger than all configured widths.
+     */
+    public Optional<Integer> getVariantWidth(int requested) {
+        for(int width : widths) {
+            if(width >= requested) {
+                return Optional.of(width);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param source The image
+     * @param key Identifies the image among all images e.g its path relative
+     * to the directory from which it is served. Must end with the extension
+     * of the image.
+     * @param requestedWidth The requested width
+     * @return The variant of the image for the requested width, generating it
+     * if need be, or the image itself if there is no variant for the width
+     * or the image could not be read.
+     */
+    public Path getVariant(Path source, String key, int requestedWidth) throws IOException {
+        final Optional<Integer> width = this.getVariantWidth(requestedWidth);
+        if( ! width.isPresent() || ! this.isImage(key)) {
+            return source;
+        }
+        final Path target = variantsDir.resolve(String.valueOf(width.get()))
+                .resolve(key + this.getVariantExtension(key)).normalize();
+        if( ! target.startsWith(variantsDir)) {
+            throw new IllegalArgumentException(key);
+        }
+        final Object lock = locks.computeIfAbsent(target, (k) -> new Object());
+        try{
+            synchronized(lock) {
+                if(Files.isRegularFile(target) &&
+                        this.getLastModified(target) >= this.getLastModified(source)) {
+                    synchronized(variants) {
+                        variants.get(target);
+                    }
+                    return target;
+                }
+                Files.createDirectories(target.getParent());
+                if( ! this.resize(source, target, width.get())) {
+                    return source;
+                }
+                final long size = Files.size(target);
+                synchronized(variants) {
+                    final Long previous = variants.put(target, size);
+                    variantBytes += size - (previous == null ? 0 : previous);
+                    this.evict();
+                }
+                LOG.debug("Generated {}", target);
+                return target;
+            }
+        }finally{
+            locks.remove(target, lock);
+        }
+    }
+
+    /** Guarded by variants. Never evicts the most recently used */
+    private void evict() {
+        final Iterator<Map.Entry<Path, Long>> iter = variants.entrySet().iterator();
+        while(variantBytes > maxVariantBytes && variants.size() > 1) {
+            final Map.Entry<Path, Long> eldest = iter.next();
+            iter.remove();
+            variantBytes -= eldest.getValue();
+            try{
+                Files.deleteIfExists(eldest.getKey());
+            }catch(IOException e) {
+                LOG.warn("Failed to delete: {}, {}", eldest.getKey(), e.toString());
+            }
+        }
+    }
+
+    /**
+     * Write the source image, scaled down to fit within a square of the
+     * specified size, to the target.
+     * @return <code>false</code> if the source could not be read as an image
+     */
+    public boolean resize(Path source, Path target, int maxSize) throws IOException {
+        final BufferedImage image = ImageIO.read(source.toFile());
+        if(image == null) {
+            return false;
+        }
+        final boolean png = target.getFileName().toString().endsWith(".png");
+        final double scale = Math.min(1.0, (double)maxSize / Math.max(image.getWidth(), image.getHeight()));
+        final int width = Math.max(1, (int)Math.round(image.getWidth() * scale));
+        final int height = Math.max(1, (int)Math.round(image.getHeight() * scale));
+        final BufferedImage resized = new BufferedImage(width, height,
+                png ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = resized.createGraphics();
+        try{
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        }finally{
+            g.dispose();
+        }
+        // The same image may be resized concurrently, so write aside then move
+        final Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try{
+            if( ! ImageIO.write(resized, png ? "png" : "jpg", tmp.toFile())) {
+                return false;
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        }finally{
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private String getVariantExtension(String key) {
+        final String name = key.toLowerCase(Locale.ROOT);
+        return name.endsWith(".png") || name.endsWith(".gif") ? ".png" : ".jpg";
+    }
+
+    private long getLastModified(Path path) {
+        try{
+            return Files.getLastModifiedTime(path).toMillis();
+        }catch(IOException e) {
+            return 0L;
+        }
+    }
+}
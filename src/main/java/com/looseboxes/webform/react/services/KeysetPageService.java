@@ -0,0 +1,197 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.web.KeysetPage;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Pages through entities by keyset (seek) pagination. Each page starts
+ * after the sort values of the last entity of the previous page, so is
+ * located via an index rather than by reading and discarding the rows of all
+ * the previous pages, as offset pagination does.
+ *
+ * Entities are ordered either by <code>id</code> ascending, or by
+ * <code>timeCreated</code> descending i.e most recent first, with ties broken
+ * by <code>id</code>. The position of a page is carried between requests as
+ * an opaque token, which also records the order it was issued for.
+ *
+ * @author hp
+ */
+@Service
+public class KeysetPageService {
+
+    public static final String ORDER_BY_ID = "id";
+
+    public static final String ORDER_BY_TIME_CREATED = "timeCreated";
+
+    private static final String SEPARATOR = "|";
+
+    @PersistenceContext private EntityManager entityManager;
+
+    private final SelectOptionService selectOptionService;
+
+    private final int maxLimit;
+
+    @Autowired
+    public KeysetPageService(SelectOptionService selectOptionService,
+            @Value("${webform.react.paging.maxLimit:100}") int maxLimit) {
+        this.selectOptionService = Objects.requireNonNull(selectOptionService);
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @param entityType The type of entity whose page will be returned
+     * @param orderBy One of {@link #ORDER_BY_ID} or {@link #ORDER_BY_TIME_CREATED}
+     * @param filters Attribute name/value pairs the entities must match.
+     * Associations e.g <code>Post.blog</code> are matched by id.
+     * @param after The {@link KeysetPage#getNext() next} token of the previous
+     * page, or <code>null</code> for the first page.
+     * @param limit The maximum number of entities to return. Capped at
+     * <code>webform.react.paging.maxLimit</code>
+     * @return The requested page of entities
+     * @throws IllegalArgumentException If the entity type cannot be ordered as
+     * specified, any of the filter names is not an attribute of the entity
+     * type, any of the values could not be converted to the type of the
+     * attribute, or the token is not one issued for the specified order.
+     */
+    public <T> KeysetPage<T> getPage(Class<T> entityType, String orderBy,
+            Map<String, ?> filters, String after, int limit) {
+
+        final EntityType<T> type = entityManager.getMetamodel().entity(entityType);
+        final SingularAttribute<? super T, ?> idAttribute = type.getId(type.getIdType().getJavaType());
+        final String id = "e." + idAttribute.getName();
+        final boolean byTime = this.isOrderByTimeCreated(type, orderBy);
+
+        final List<String> conditions = new ArrayList<>(filters.size() + 1);
+        final Map<String, Object> params = new HashMap<>(filters.size() + 2, 1.0f);
+        for(Map.Entry<String, ?> filter : filters.entrySet()) {
+            final SingularAttribute<? super T, ?> attribute = type.getSingularAttribute(filter.getKey());
+            String path = "e." + attribute.getName();
+            Class<?> valueType = attribute.getJavaType();
+            if(attribute.isAssociation()) {
+                final EntityType<?> target = entityManager.getMetamodel().entity(valueType);
+                final SingularAttribute<?, ?> targetId = target.getId(target.getIdType().getJavaType());
+                path = path + '.' + targetId.getName();
+                valueType = targetId.getJavaType();
+            }
+            final String param = "p" + params.size();
+            conditions.add(path + " = :" + param);
+            params.put(param, selectOptionService.convert(filter.getValue(), valueType));
+        }
+
+        if(after != null) {
+            final String [] position = decode(after, orderBy);
+            params.put("afterId", selectOptionService.convert(position[1], idAttribute.getJavaType()));
+            if(byTime) {
+                // Expanded, as JPQL lacks row value comparison. Resolved by a
+                // range scan of the index on ([filters], time_created, id)
+                conditions.add("(e.timeCreated < :afterTime OR (e.timeCreated = :afterTime AND " + id + " < :afterId))");
+                params.put("afterTime", parseTime(position[0]));
+            }else{
+                conditions.add(id + " > :afterId");
+            }
+        }
+
+        final StringBuilder jpql = new StringBuilder("SELECT e FROM ").append(type.getName()).append(" e");
+        if( ! conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(byTime ? " ORDER BY e.timeCreated DESC, " + id + " DESC" : " ORDER BY " + id);
+
+        final int pageSize = Math.max(1, Math.min(limit, maxLimit));
+
+        // Fetch one more than required, to determine if there is a next page
+        // without issuing a count query
+        final TypedQuery<T> query = entityManager.createQuery(jpql.toString(), entityType)
+                .setMaxResults(pageSize + 1)
+                .setHint("org.hibernate.readOnly", Boolean.TRUE);
+        params.forEach(query::setParameter);
+
+        final List<T> entities = query.getResultList();
+        if(entities.size() <= pageSize) {
+            return new KeysetPage<>(entities, null);
+        }
+
+        final List<T> content = entities.subList(0, pageSize);
+        final BeanWrapperImpl last = new BeanWrapperImpl(content.get(pageSize - 1));
+        final Object lastTime = byTime ? last.getPropertyValue(ORDER_BY_TIME_CREATED) : null;
+        return new KeysetPage<>(content, encode(orderBy,
+                lastTime == null ? "" : formatTime((Date)lastTime),
+                String.valueOf(last.getPropertyValue(idAttribute.getName()))));
+    }
+
+    private boolean isOrderByTimeCreated(EntityType<?> type, String orderBy) {
+        if(ORDER_BY_ID.equals(orderBy)) {
+            return false;
+        }
+        if(ORDER_BY_TIME_CREATED.equals(orderBy)) {
+            if(type.getAttributes().stream().anyMatch((attribute) -> ORDER_BY_TIME_CREATED.equals(attribute.getName())
+                    && Date.class.isAssignableFrom(attribute.getJavaType()))) {
+                return true;
+            }
+            throw new IllegalArgumentException(type.getName() + " cannot be ordered by: " + orderBy);
+        }
+        throw new IllegalArgumentException("Unsupported order: " + orderBy +
+                ", expected one of: " + ORDER_BY_ID + ", " + ORDER_BY_TIME_CREATED);
+    }
+
+    /**
+     * Nanos are retained, as the column may be of a higher precision than millis
+     */
+    static String formatTime(Date date) {
+        return date.toInstant().toString();
+    }
+
+    static Timestamp parseTime(String text) {
+        try{
+            return Timestamp.from(Instant.parse(text));
+        }catch(DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid token", e);
+        }
+    }
+
+    static String encode(String orderBy, String time, String id) {
+        final String position = orderBy + SEPARATOR + time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The time (empty if ordered by id) and id, of the last entity of
+     * the previous page
+     */
+    static String [] decode(String token, String orderBy) {
+        final String position;
+        try{
+            position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        }catch(IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid token", e);
+        }
+        final String [] parts = position.split("\\" + SEPARATOR, -1);
+        if(parts.length != 3 || ! parts[0].equals(orderBy) || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Invalid token for order: " + orderBy);
+        }
+        return new String[]{parts[1], parts[2]};
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
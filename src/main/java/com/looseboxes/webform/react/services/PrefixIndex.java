@@ -0,0 +1,120 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.web.SelectOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * An incrementally maintained, in-memory index of labels, searchable by prefix.
+ *
+ * Each label is indexed under the start of each of its first few words, so that
+ * <code>sub</code> matches both <code>subway</code> and <code>FASHION sub type 1</code>.
+ * Matches are ranked: exact matches first, then matches at the start of the
+ * label, then shorter labels, then alphabetically.
+ *
+ * Thread safe.
+ *
+ * @author hp
+ */
+public class PrefixIndex {
+
+    /** The maximum number of words of a label which are indexed */
+    public static final int MAX_WORDS = 8;
+
+    /** The maximum number of candidates examined for ranking, per requested result */
+    private static final int CANDIDATES_PER_RESULT = 4;
+
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private static final class Match{
+        private final Object id;
+        private final String label;
+        private final String normalizedLabel;
+        private final boolean wordStart;
+        private Match(Object id, String label, String normalizedLabel, boolean wordStart) {
+            this.id = id;
+            this.label = label;
+            this.normalizedLabel = normalizedLabel;
+            this.wordStart = wordStart;
+        }
+    }
+
+    private final ConcurrentSkipListMap<String, Match> index = new ConcurrentSkipListMap<>();
+
+    private final Map<Object, List<String>> keysById = new ConcurrentHashMap<>();
+
+    public void put(Object id, String label) {
+        final List<String> keys = new ArrayList<>(MAX_WORDS);
+        if(label != null) {
+            final String normalized = this.normalize(label);
+            final String idSuffix = ID_SEPARATOR + String.valueOf(id);
+            int words = 0;
+            for(int i=0; i<normalized.length() && words < MAX_WORDS; i++) {
+                if(i == 0 || (Character.isWhitespace(normalized.charAt(i - 1))
+                        && ! Character.isWhitespace(normalized.charAt(i)))) {
+                    final String key = normalized.substring(i) + idSuffix;
+                    index.put(key, new Match(id, label, normalized, i > 0));
+                    keys.add(key);
+                    ++words;
+                }
+            }
+        }
+        final List<String> previous = keysById.put(id, keys);
+        if(previous != null) {
+            previous.stream().filter((key) -> ! keys.contains(key)).forEach(index::remove);
+        }
+    }
+
+    public void remove(Object id) {
+        final List<String> keys = keysById.remove(id);
+        if(keys != null) {
+            keys.forEach(index::remove);
+        }
+    }
+
+    public List<SelectOption> search(String prefix, int limit) {
+
+        final String normalized = this.normalize(prefix);
+
+        final ConcurrentNavigableMap<String, Match> range = normalized.isEmpty() ? index :
+                index.subMap(normalized, true, normalized + Character.MAX_VALUE, true);
+
+        final int maxCandidates = limit * CANDIDATES_PER_RESULT;
+        final Map<Object, Match> candidates = new HashMap<>();
+        final Iterator<Match> iter = range.values().iterator();
+        while(iter.hasNext() && candidates.size() < maxCandidates) {
+            final Match match = iter.next();
+            final Match existing = candidates.get(match.id);
+            if(existing == null || (existing.wordStart && ! match.wordStart)) {
+                candidates.put(match.id, match);
+            }
+        }
+
+        final Comparator<Match> ranking = Comparator
+                .comparing((Match match) -> ! match.normalizedLabel.equals(normalized))
+                .thenComparing((match) -> match.wordStart)
+                .thenComparingInt((match) -> match.label.length())
+                .thenComparing((match) -> match.normalizedLabel);
+
+        final List<SelectOption> result = new ArrayList<>(Math.min(limit, candidates.size()));
+        candidates.values().stream().sorted(ranking).limit(limit)
+                .forEach((match) -> result.add(new SelectOption(match.id, match.label)));
+        return result;
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    private String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,52 @@
+package com.looseboxes.webform.react.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * A small least-recently-used cache of serialized response bodies, keyed by
+ * ETag. As the ETag changes with the data, entries are never stale; entries
+ * of outdated ETags are simply no longer accessed and are evicted in time.
+ *
+ * Holds at most <code>webform.react.responseCache.maxEntries</code> entries.
+ *
+ * @author hp
+ */
+@Service
+public class ResponseCache {
+
+    /** Guarded by itself. In access order, least recently used first */
+    private final LinkedHashMap<String, byte[]> entries;
+
+    public ResponseCache(@Value("${webform.react.responseCache.maxEntries:256}") int maxEntries) {
+        this.entries = new LinkedHashMap<String, byte[]>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param etag The ETag of the response
+     * @param body Supplies the body of the response, if not already cached.
+     * Called without holding any lock.
+     * @return The body of the response
+     */
+    public byte [] get(String etag, Supplier<byte[]> body) {
+        synchronized(entries) {
+            final byte [] cached = entries.get(etag);
+            if(cached != null) {
+                return cached;
+            }
+        }
+        final byte [] computed = body.get();
+        synchronized(entries) {
+            entries.put(etag, computed);
+        }
+        return computed;
+    }
+}
@@ -0,0 +1,186 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.web.OptionsPage;
+import com.looseboxes.webform.react.web.SelectOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import javax.persistence.Cacheable;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Provides select options as id/label tuples, via projection queries, rather
+ * than by loading entire entities.
+ *
+ * The label attributes of each type are those specified by the property
+ * <code>webform.field.name.selection.defaults.[SimpleName]</code>. The first
+ * non-null label value is displayed, as is done by the form layer.
+ *
+ * Options are paged by id (keyset pagination), with each page holding at most
+ * <code>webform.maxItemsInMultichoice</code> options.
+ *
+ * @author hp
+ */
+@Service
+public class SelectOptionService {
+
+    public static final String SELECTION_DEFAULTS_PREFIX = "webform.field.name.selection.defaults.";
+
+    /** Labels are truncated to this length in the query e.g for Post.content */
+    public static final int MAX_LABEL_LENGTH = 128;
+
+    @PersistenceContext private EntityManager entityManager;
+
+    private final Environment environment;
+
+    private final int maxItemsInMultichoice;
+
+    private final ConversionService conversionService;
+
+    @Autowired
+    public SelectOptionService(Environment environment,
+            @Value("${webform.maxItemsInMultichoice:100}") int maxItemsInMultichoice) {
+        this.environment = Objects.requireNonNull(environment);
+        this.maxItemsInMultichoice = maxItemsInMultichoice;
+        this.conversionService = DefaultConversionService.getSharedInstance();
+    }
+
+    public List<String> getLabelAttributes(Class<?> entityType) {
+        final String value = environment.getProperty(SELECTION_DEFAULTS_PREFIX + entityType.getSimpleName());
+        if(value == null || value.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter((name) -> ! name.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public OptionsPage getOptions(Class<?> entityType, Map<String, ?> filters) {
+        return this.getOptions(entityType, filters, null, maxItemsInMultichoice);
+    }
+
+    /**
+     * @param entityType The type of entity whose options will be returned
+     * @param filters Attribute name/value pairs the options must match
+     * @param after Only options with ids greater than this will be returned.
+     * May be <code>null</code>.
+     * @param limit The maximum number of options to return. Capped at
+     * <code>webform.maxItemsInMultichoice</code>
+     * @return The options, ordered by id
+     * @throws IllegalArgumentException If any of the filter names is not an
+     * attribute of the entity type, or any of the values could not be
+     * converted to the type of the attribute.
+     */
+    public OptionsPage getOptions(Class<?> entityType, Map<String, ?> filters, Object after, int limit) {
+
+        final EntityType<?> type = entityManager.getMetamodel().entity(entityType);
+        final SingularAttribute<?, ?> idAttribute = type.getId(type.getIdType().getJavaType());
+        final String id = "e." + idAttribute.getName();
+        final List<String> labels = this.getLabelAttributes(entityType);
+
+        final StringBuilder jpql = new StringBuilder("SELECT ").append(id);
+        for(String label : labels) {
+            jpql.append(", ").append(this.selectExpression(type.getAttribute(label)));
+        }
+        jpql.append(" FROM ").append(type.getName()).append(" e");
+
+        final List<String> conditions = new ArrayList<>(filters.size() + 1);
+        final Map<String, Object> params = new HashMap<>(filters.size() + 1, 1.0f);
+        if(after != null) {
+            conditions.add(id + " > :after");
+            params.put("after", this.convert(after, idAttribute.getJavaType()));
+        }
+        for(Map.Entry<String, ?> filter : filters.entrySet()) {
+            final Attribute<?, ?> attribute = type.getAttribute(filter.getKey());
+            final String param = "p" + params.size();
+            conditions.add("e." + attribute.getName() + " = :" + param);
+            params.put(param, this.convert(filter.getValue(), attribute.getJavaType()));
+        }
+        if( ! conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ").append(id);
+
+        final int maxResults = Math.max(1, Math.min(limit, maxItemsInMultichoice));
+
+        final Query query = entityManager.createQuery(jpql.toString()).setMaxResults(maxResults);
+        params.forEach(query::setParameter);
+        if(entityType.isAnnotationPresent(Cacheable.class)) {
+            query.setHint("org.hibernate.cacheable", Boolean.TRUE);
+        }
+
+        final List<?> rows = query.getResultList();
+        final List<SelectOption> options = new ArrayList<>(rows.size());
+        Object lastId = null;
+        for(Object row : rows) {
+            final Object [] columns = row instanceof Object[] ? (Object[])row : new Object[]{row};
+            lastId = columns[0];
+            options.add(new SelectOption(lastId, this.toLabel(columns)));
+        }
+
+        return new OptionsPage(options, rows.size() < maxResults ? null : lastId);
+    }
+
+    private String selectExpression(Attribute<?, ?> attribute) {
+        final String path = "e." + attribute.getName();
+        return String.class.equals(attribute.getJavaType()) ?
+                "SUBSTRING(" + path + ", 1, " + MAX_LABEL_LENGTH + ")" : path;
+    }
+
+    private String toLabel(Object [] columns) {
+        for(int i=1; i<columns.length; i++) {
+            if(columns[i] != null) {
+                return columns[i].toString();
+            }
+        }
+        return String.valueOf(columns[0]);
+    }
+
+    public Object convert(Object value, Class<?> type) {
+        if(value == null || type.isInstance(value)) {
+            return value;
+        }
+        final String text = value.toString().trim();
+        if(type.isEnum()) {
+            final Object [] constants = type.getEnumConstants();
+            if( ! text.isEmpty() && text.chars().allMatch(Character::isDigit)) {
+                final int ordinal = Integer.parseInt(text);
+                if(ordinal < constants.length) {
+                    return constants[ordinal];
+                }
+            }
+            for(Object constant : constants) {
+                if(((Enum<?>)constant).name().equalsIgnoreCase(text)) {
+                    return constant;
+                }
+            }
+            throw new IllegalArgumentException("Not a " + type.getSimpleName() + ": " + text);
+        }
+        try{
+            return conversionService.convert(text, type);
+        }catch(RuntimeException e) {
+            throw new IllegalArgumentException("Not a " + type.getSimpleName() + ": " + text, e);
+        }
+    }
+
+    public int getMaxItemsInMultichoice() {
+        return maxItemsInMultichoice;
+    }
+}
@@ -0,0 +1,206 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.domain.BlogSubtype;
+import com.looseboxes.webform.react.domain.DomainTypes;
+import com.looseboxes.webform.react.web.OptionsPage;
+import com.looseboxes.webform.react.web.SelectOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.PluralAttribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves ranked prefix matches of the selection-default labels of entities,
+ * from an in-memory {@link PrefixIndex} per entity type.
+ *
+ * The choices of some types depend on another field of the form e.g those of
+ * <code>Blog.subtype</code> depend on <code>Blog.type</code>. Such types are
+ * indexed per value of the attribute they depend on e.g one index per
+ * <code>BlogType</code>, and are only searched once that value is known.
+ *
+ * The indexes are built once the application is ready, then kept in sync via
+ * {@link EntityChangeEvent}s.
+ *
+ * @author hp
+ */
+@Service
+public class TypeaheadService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TypeaheadService.class);
+
+    /**
+     * The enum attributes by which the choices of an entity type are filtered,
+     * by entity type. Also the name of the form field supplying the value.
+     */
+    private static final Map<Class<?>, String> PARTITION_ATTRIBUTES =
+            Collections.singletonMap(BlogSubtype.class, "type");
+
+    /** The partition of types not filtered by any attribute */
+    private static final Object ALL = new Object();
+
+    private static final class Partitions{
+        private final String attribute;
+        private final Class<?> attributeType;
+        private final Map<Object, PrefixIndex> indexes;
+        private Partitions(String attribute, Class<?> attributeType) {
+            this.attribute = attribute;
+            this.attributeType = attributeType;
+            this.indexes = new ConcurrentHashMap<>();
+            if(attributeType == null) {
+                indexes.put(ALL, new PrefixIndex());
+            }else{
+                for(Object constant : attributeType.getEnumConstants()) {
+                    indexes.put(constant, new PrefixIndex());
+                }
+            }
+        }
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final SelectOptionService selectOptionService;
+
+    private final Map<Class<?>, Partitions> partitions;
+
+    @Autowired
+    public TypeaheadService(EntityManagerFactory entityManagerFactory,
+            SelectOptionService selectOptionService) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory);
+        this.selectOptionService = Objects.requireNonNull(selectOptionService);
+        this.partitions = new ConcurrentHashMap<>();
+        for(Class<?> entityType : DomainTypes.getEntityTypes()) {
+            if( ! selectOptionService.getLabelAttributes(entityType).isEmpty()) {
+                final String attribute = PARTITION_ATTRIBUTES.get(entityType);
+                this.partitions.put(entityType, new Partitions(attribute, 
+                        attribute == null ? null : this.getEnumType(entityType, attribute)));
+            }
+        }
+    }
+
+    private Class<?> getEnumType(Class<?> entityType, String attribute) {
+        final Class<?> type = BeanUtils.getPropertyDescriptor(entityType, attribute).getPropertyType();
+        if( ! type.isEnum()) {
+            throw new IllegalStateException("Only enum attributes are supported, found: " +
+                    entityType.getSimpleName() + '.' + attribute + " of type: " + type.getName());
+        }
+        return type;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        partitions.forEach((entityType, typePartitions) -> {
+            final long startMillis = System.currentTimeMillis();
+            typePartitions.indexes.forEach((value, index) -> {
+                final Map<String, Object> filters = value == ALL ? Collections.emptyMap() :
+                        Collections.singletonMap(typePartitions.attribute, value);
+                Object after = null;
+                do{
+                    final OptionsPage page = selectOptionService.getOptions(
+                            entityType, filters, after, selectOptionService.getMaxItemsInMultichoice());
+                    page.getOptions().forEach((option) -> index.put(option.getValue(), option.getText()));
+                    after = page.getNext();
+                }while(after != null);
+            });
+            LOG.info("Indexed {} {} labels in {} millis", 
+                    typePartitions.indexes.values().stream().mapToInt(PrefixIndex::size).sum(),
+                    entityType.getSimpleName(), (System.currentTimeMillis() - startMillis));
+        });
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        final Partitions typePartitions = partitions.get(event.getEntityType());
+        if(typePartitions == null || event.getId() == null) {
+            return;
+        }
+        final Object value = event.getType() == EntityChangeEvent.Type.DELETED ? null : 
+                this.getPartition(typePartitions, event.getEntity());
+        // The partition attribute may have changed, so remove from all others
+        typePartitions.indexes.forEach((partition, index) -> {
+            if(partition.equals(value)) {
+                index.put(event.getId(), this.getLabel(event.getEntity()));
+            }else{
+                index.remove(event.getId());
+            }
+        });
+    }
+
+    private Object getPartition(Partitions typePartitions, Object entity) {
+        return typePartitions.attribute == null ? ALL : PropertyAccessorFactory
+                .forBeanPropertyAccess(entity).getPropertyValue(typePartitions.attribute);
+    }
+
+    /**
+     * @param modelType The type of the model e.g <code>Blog</code>
+     * @param propertyName The name of a property of the model e.g <code>subtype</code>
+     * @return The type referenced by the property, if it is indexed e.g
+     * <code>BlogSubtype</code>.
+     * @throws IllegalArgumentException If the model type has no property with
+     * the specified name.
+     */
+    public Optional<Class<?>> getIndexedType(Class<?> modelType, String propertyName) {
+        final Attribute<?, ?> attribute = entityManagerFactory.getMetamodel()
+                .entity(modelType).getAttribute(propertyName);
+        final Class<?> type = attribute instanceof PluralAttribute ?
+                ((PluralAttribute<?, ?, ?>)attribute).getElementType().getJavaType() :
+                attribute.getJavaType();
+        return partitions.containsKey(type) ? Optional.of(type) : Optional.empty();
+    }
+
+    /**
+     * @param entityType The type of the choices to search
+     * @param filters The values of the fields of the form, by name. For types
+     * whose choices depend on another field e.g <code>BlogSubtype</code> on 
+     * <code>type</code>, only choices matching the value of that field are 
+     * returned, and none if it has no value.
+     * @param prefix The start of any of the first few words of the labels to match
+     * @param limit The maximum number of choices to return
+     * @return The matching choices, best match first
+     * @throws IllegalArgumentException If the value of the field depended on
+     * could not be converted to the type of the attribute.
+     */
+    public List<SelectOption> search(Class<?> entityType, Map<String, ?> filters, String prefix, int limit) {
+        final Partitions typePartitions = partitions.get(entityType);
+        if(typePartitions == null) {
+            return Collections.emptyList();
+        }
+        final Object value;
+        if(typePartitions.attribute == null) {
+            value = ALL;
+        }else{
+            final Object filter = filters.get(typePartitions.attribute);
+            value = filter == null || filter.toString().trim().isEmpty() ? null :
+                    selectOptionService.convert(filter, typePartitions.attributeType);
+        }
+        final PrefixIndex index = value == null ? null : typePartitions.indexes.get(value);
+        return index == null ? Collections.emptyList() : index.search(prefix,
+                Math.max(1, Math.min(limit, selectOptionService.getMaxItemsInMultichoice())));
+    }
+
+    private String getLabel(Object entity) {
+        final BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        for(String name : selectOptionService.getLabelAttributes(entity.getClass())) {
+            final Object value = bean.getPropertyValue(name);
+            if(value != null) {
+                final String label = value.toString();
+                return label.length() > SelectOptionService.MAX_LABEL_LENGTH ?
+                        label.substring(0, SelectOptionService.MAX_LABEL_LENGTH) : label;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.looseboxes.webform.react.services;
+
+import java.util.Objects;
+
+/**
+ * The handle of a file uploaded via the streaming upload path. Returned to
+ * the client as soon as the file is on disk; the checksum and thumbnail
+ * are filled in once background processing completes.
+ *
+ * @author hp
+ */
+public class Upload {
+
+    public enum Status{
+        /** The file is being received */
+        RECEIVING,
+        /** The file is on disk, background processing is pending */
+        STORED,
+        /** The file is on disk, and background processing is complete */
+        PROCESSED,
+        /** The file is on disk, but background processing was skipped as the executor was saturated */
+        UNPROCESSED,
+        FAILED
+    }
+
+    private final String id;
+    private final String filename;
+    private final String contentType;
+
+    private volatile Status status;
+    private volatile long size;
+    private volatile String location;
+    private volatile String checksum;
+    private volatile String thumbnailLocation;
+
+    public Upload(String id, String filename, String contentType) {
+        this.id = Objects.requireNonNull(id);
+        this.filename = filename;
+        this.contentType = contentType;
+        this.status = Status.RECEIVING;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return The URL path from which the uploaded file may be read, or 
+     * <code>null</code> if not yet stored. This is the value to submit for 
+     * the file field of the form.
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    /**
+     * @return The hex encoded SHA-256 of the file, or <code>null</code> if not
+     * yet stored.
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public String getThumbnailLocation() {
+        return thumbnailLocation;
+    }
+
+    public void setThumbnailLocation(String thumbnailLocation) {
+        this.thumbnailLocation = thumbnailLocation;
+    }
+
+    @Override
+    public String toString() {
+        return "Upload{" + "id=" + id + ", filename=" + filename + ", contentType=" + contentType +
+                ", status=" + status + ", size=" + size + ", checksum=" + checksum + '}';
+    }
+}
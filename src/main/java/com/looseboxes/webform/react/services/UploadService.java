@@ -0,0 +1,163 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps track of files uploaded via the streaming upload path, and processes
+ * them (thumbnail) on a bounded background executor, so that the request
+ * which uploaded a file does not wait for its processing.
+ *
+ * Uploaded files are written to the {@link ContentStore}, which hashes them
+ * as they are received. Thumbnails are generated once per distinct content.
+ *
+ * @author hp
+ */
+@Service
+public class UploadService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UploadService.class);
+
+    public static final String UPLOADS_PATH = WebformControllerConstants.UPLOADS_PATH;
+
+    private final ContentStore contentStore;
+
+    private final ImageService imageService;
+
+    private final int thumbnailSize;
+
+    private final int maxTracked;
+
+    /** Guarded by itself. In insertion order, eldest first */
+    private final LinkedHashMap<String, Upload> uploads;
+
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public UploadService(ContentStore contentStore, ImageService imageService, Environment env) {
+        this.contentStore = Objects.requireNonNull(contentStore);
+        this.imageService = Objects.requireNonNull(imageService);
+        this.thumbnailSize = env.getProperty("webform.react.upload.thumbnailSize", Integer.class, 200);
+        this.maxTracked = env.getProperty("webform.react.upload.maxTracked", Integer.class, 10_000);
+        this.uploads = new LinkedHashMap<String, Upload>(){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Upload> eldest) {
+                return size() > maxTracked;
+            }
+        };
+        final int threads = env.getProperty("webform.react.upload.threads", Integer.class, 2);
+        final int queueCapacity = env.getProperty("webform.react.upload.queueCapacity", Integer.class, 100);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), (runnable) -> {
+                    final Thread thread = new Thread(runnable, "upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * @param filename The name of the file on the client. May be <code>null</code>
+     * @param contentType The content type of the file. May be <code>null</code>
+     * @return A new upload, in status {@link Upload.Status#RECEIVING}
+     */
+    public Upload newUpload(String filename, String contentType) {
+        final Upload upload = new Upload(UUID.randomUUID().toString(), filename, contentType);
+        synchronized(uploads) {
+            uploads.put(upload.getId(), upload);
+        }
+        return upload;
+    }
+
+    public ContentStore.Writer openWriter(Upload upload) throws IOException {
+        return contentStore.newWriter(upload.getFilename());
+    }
+
+    /**
+     * Commit the content written to the store, mark the upload as stored,
+     * and queue it for background processing. Does not wait for the processing.
+     */
+    public void onAllWritten(Upload upload, ContentStore.Writer writer) throws IOException {
+        final String location = writer.commit();
+        upload.setSize(writer.getSize());
+        upload.setChecksum(contentStore.getHash(location).get());
+        upload.setLocation(location);
+        upload.setStatus(Upload.Status.STORED);
+        try{
+            executor.execute(() -> this.process(upload));
+        }catch(RejectedExecutionException e) {
+            LOG.warn("Upload processing queue full, skipped processing: {}", upload);
+            upload.setStatus(Upload.Status.UNPROCESSED);
+        }
+    }
+
+    /**
+     * Mark the upload as failed, and discard any content written.
+     * @param writer The writer of the content. May be <code>null</code>, if 
+     * it could not be opened
+     */
+    public void onFailed(Upload upload, ContentStore.Writer writer, Throwable t) {
+        LOG.warn("Failed to receive: {}", upload, t);
+        upload.setStatus(Upload.Status.FAILED);
+        if(writer == null) {
+            return;
+        }
+        try{
+            writer.close();
+        }catch(IOException e) {
+            LOG.warn("Failed to discard: {}, {}", upload, e.toString());
+        }
+    }
+
+    private void process(Upload upload) {
+        try{
+            final String hash = upload.getChecksum();
+            if(this.isImage(upload.getContentType())) {
+                final Path thumbnail = contentStore.getThumbnailPath(hash);
+                final Optional<Path> content = contentStore.find(hash);
+                if(Files.exists(thumbnail) ||
+                        (content.isPresent() && imageService.resize(content.get(), thumbnail, thumbnailSize))) {
+                    upload.setThumbnailLocation(contentStore.getThumbnailLocation(hash));
+                }
+            }
+            upload.setStatus(Upload.Status.PROCESSED);
+            LOG.debug("Processed: {}", upload);
+        }catch(IOException | RuntimeException e) {
+            LOG.warn("Failed to process: {}", upload, e);
+            upload.setStatus(Upload.Status.UNPROCESSED);
+        }
+    }
+
+    private boolean isImage(String contentType) {
+        return contentType != null && contentType.startsWith("image/");
+    }
+
+    public Optional<Upload> getUpload(String id) {
+        synchronized(uploads) {
+            return Optional.ofNullable(uploads.get(id));
+        }
+    }
+}
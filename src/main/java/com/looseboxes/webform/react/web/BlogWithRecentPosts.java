@@ -0,0 +1,40 @@
+package com.looseboxes.webform.react.web;
+
+import com.looseboxes.webform.react.domain.Blog;
+import java.io.Serializable;
+
+/**
+ * The {@link Blog#GRAPH_WITH_RECENT_POSTS blog-with-recent-posts} view of a
+ * Blog i.e the Blog without its posts, and the first page of its posts, most
+ * recent first. Subsequent pages are requested with the
+ * {@link KeysetPage#getNext() next} token of the page.
+ *
+ * @author hp
+ */
+public class BlogWithRecentPosts implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Blog blog;
+
+    private final KeysetPage<PostSummary> recentPosts;
+
+    public BlogWithRecentPosts(Blog blog, KeysetPage<PostSummary> recentPosts) {
+        this.blog = blog;
+        this.recentPosts = recentPosts;
+    }
+
+    public Blog getBlog() {
+        return blog;
+    }
+
+    public KeysetPage<PostSummary> getRecentPosts() {
+        return recentPosts;
+    }
+
+    @Override
+    public String toString() {
+        return "BlogWithRecentPosts{" + "blog=" + (blog == null ? null : blog.getHandle()) +
+                ", recentPosts=" + recentPosts + '}';
+    }
+}
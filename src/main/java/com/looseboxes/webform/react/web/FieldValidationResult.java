@@ -0,0 +1,68 @@
+package com.looseboxes.webform.react.web;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The errors of the fields validated in one request. Fields which were
+ * validated but have no errors, are valid.
+ * 
+ * @author hp
+ */
+public class FieldValidationResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> propertyNames;
+
+    private final List<FieldError> errors;
+
+    public FieldValidationResult(List<String> propertyNames, List<FieldError> errors) {
+        this.propertyNames = Collections.unmodifiableList(propertyNames);
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return The names of the fields validated
+     */
+    public List<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    public List<FieldError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldValidationResult{" + "propertyNames=" + propertyNames + ", errors=" + errors + '}';
+    }
+
+    public static class FieldError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String fieldName;
+
+        private final String message;
+
+        public FieldError(String fieldName, String message) {
+            this.fieldName = fieldName;
+            this.message = message;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "FieldError{" + "fieldName=" + fieldName + ", message=" + message + '}';
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.looseboxes.webform.react.web;
+
+import java.io.Serializable;
+
+/**
+ * The outcome of an import. Rows are committed in chunks, so on failure the
+ * rows imported before the failing chunk remain imported.
+ *
+ * @author hp
+ */
+public class ImportResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long imported;
+
+    private final String error;
+
+    private final int line;
+
+    public static ImportResult success(long imported) {
+        return new ImportResult(imported, null, -1);
+    }
+
+    public static ImportResult failure(long imported, String error, int line) {
+        return new ImportResult(imported, error, line);
+    }
+
+    private ImportResult(long imported, String error, int line) {
+        this.imported = imported;
+        this.error = error;
+        this.line = line;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return The number of rows committed
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return The line at which the failure was detected, or -1 if not
+     * failed or not known. The failing row may be any of the current chunk.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" + "imported=" + imported + ", error=" + error + ", line=" + line + '}';
+    }
+}
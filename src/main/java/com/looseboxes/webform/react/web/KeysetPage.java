@@ -0,0 +1,43 @@
+package com.looseboxes.webform.react.web;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of entities, keyed by the sort values of the last entity of the
+ * previous page rather than by offset, so the cost of fetching a page does
+ * not depend on how far in the page is.
+ *
+ * @author hp
+ */
+public class KeysetPage<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> content;
+
+    private final String next;
+
+    public KeysetPage(List<T> content, String next) {
+        this.content = Collections.unmodifiableList(content);
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return The opaque value of the <code>after</code> parameter to use in
+     * requesting the next page, or <code>null</code> if this is the last page
+     */
+    public String getNext() {
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPage{" + "content=" + content.size() + ", next=" + next + '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.looseboxes.webform.react.web;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of select options. Pages are keyed by id rather than by offset, so 
+ * the cost of fetching a page does not depend on how far in the page is.
+ * 
+ * @author hp
+ */
+public class OptionsPage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<SelectOption> options;
+
+    private final Object next;
+
+    public OptionsPage(List<SelectOption> options, Object next) {
+        this.options = Collections.unmodifiableList(options);
+        this.next = next;
+    }
+
+    public List<SelectOption> getOptions() {
+        return options;
+    }
+
+    /**
+     * @return The value of the <code>after</code> parameter to use in 
+     * requesting the next page, or <code>null</code> if this is the last page
+     */
+    public Object getNext() {
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        return "OptionsPage{" + "options=" + options.size() + ", next=" + next + '}';
+    }
+}
@@ -0,0 +1,60 @@
+package com.looseboxes.webform.react.web;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * The fields of a {@link com.looseboxes.webform.react.domain.Post Post} 
+ * rendered in a list of posts i.e without the (up to 10KB) content.
+ * 
+ * @author hp
+ */
+public class PostSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Integer id;
+
+    private final String title;
+
+    private final String image;
+
+    private final Date timeCreated;
+
+    private final Date timeModified;
+
+    public PostSummary(Integer id, String title, String image, 
+            Date timeCreated, Date timeModified) {
+        this.id = id;
+        this.title = title;
+        this.image = image;
+        this.timeCreated = timeCreated;
+        this.timeModified = timeModified;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public Date getTimeCreated() {
+        return timeCreated;
+    }
+
+    public Date getTimeModified() {
+        return timeModified;
+    }
+
+    @Override
+    public String toString() {
+        return "PostSummary{" + "id=" + id + ", title=" + title + ", image=" + image + 
+                ", timeCreated=" + timeCreated + ", timeModified=" + timeModified + '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.looseboxes.webform.react.web;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A choice of a HTML &lt;select&gt; element, in the format expected by the
+ * client i.e <code>{"text":"Unactivated","value":0}</code>
+ * 
+ * @author hp
+ */
+public final class SelectOption implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object value;
+
+    private final String text;
+
+    public SelectOption(Object value, String text) {
+        this.value = Objects.requireNonNull(value);
+        this.text = text;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, text);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof SelectOption)) {
+            return false;
+        }
+        final SelectOption other = (SelectOption) object;
+        return Objects.equals(value, other.value) && Objects.equals(text, other.text);
+    }
+
+    @Override
+    public String toString() {
+        return "SelectOption{" + "value=" + value + ", text=" + text + '}';
+    }
+}
@@ -0,0 +1,62 @@
+define(function(require) {
+	'use strict';
+
+	const interceptor = require('rest/interceptor');
+
+	/* The most recent GET responses carrying an ETag, least recently used first */
+	const cache = new Map();
+
+	const MAX_ENTRIES = 100;
+
+	function isGet(request) {
+		return ! request.method || request.method.toUpperCase() === 'GET';
+	}
+
+	function keyOf(request) {
+		return request.path + (request.params ? '?' + JSON.stringify(request.params) : '');
+	}
+
+	function getETag(headers) {
+		return headers ? (headers['ETag'] || headers['Etag']) : undefined;
+	}
+
+	/* Sends If-None-Match for GET requests whose previous response had an ETag,
+	 * and answers 304 Not Modified responses from the cache, as 200 OK */
+	return interceptor({
+		request: function (request /*, config, meta */) {
+			if( ! isGet(request)) {
+				return request;
+			}
+			const cached = cache.get(keyOf(request));
+			if(cached) {
+				request.headers = Object.assign({}, request.headers, { 'If-None-Match': cached.etag });
+			}
+			return request;
+		},
+		response: function (response /*, config, meta */) {
+			const request = response.request;
+			if( ! request || ! isGet(request) || ! response.status) {
+				return response;
+			}
+			const key = keyOf(request);
+			const cached = cache.get(key);
+			if(response.status.code === 304 && cached) {
+				cache.delete(key);
+				cache.set(key, cached);
+				response.status.code = 200;
+				response.entity = cached.entity;
+				return response;
+			}
+			const etag = getETag(response.headers);
+			if(response.status.code === 200 && etag) {
+				cache.delete(key);
+				cache.set(key, { etag: etag, entity: response.entity });
+				if(cache.size > MAX_ENTRIES) {
+					cache.delete(cache.keys().next().value);
+				}
+			}
+			return response;
+		}
+	});
+
+});
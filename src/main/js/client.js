@@ -4,6 +4,7 @@ const rest = require('rest');
 const defaultRequest = require('rest/interceptor/defaultRequest');
 const mime = require('rest/interceptor/mime');
 const uriTemplateInterceptor = require('./api/uriTemplateInterceptor');
+const conditionalInterceptor = require('./api/conditionalInterceptor');
 const errorCode = require('rest/interceptor/errorCode');
 const baseRegistry = require('rest/mime/registry');
 
@@ -14,6 +15,7 @@ registry.register('application/json', require('rest/mime/type/application/json')
 
 module.exports = rest
 	.wrap(mime, { registry: registry })
+	.wrap(conditionalInterceptor)
 	.wrap(uriTemplateInterceptor)
 	.wrap(errorCode)
 	.wrap(defaultRequest, { headers: { 'Accept': 'application/json' }});
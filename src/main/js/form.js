@@ -9,6 +9,7 @@ import formUtil from "./formUtil";
 import formMemberUtil from "./formMemberUtil";
 import webformStage from "./webformStage";
 import TitleOfMessagesAutoFocused from "./titleOfMessagesAutoFocused";
+import RecentPosts from "./recentPosts";
 import log from "./log";
 //log.init({logLevel: 'debug'});
 
@@ -19,6 +20,9 @@ import log from "./log";
  * @param {string} basepath - (optional) The context path (without the domain). Prefix to all URLs.
  * @param {string} apibasepath - (optional) The path to the api (without the domain) e.g <code>/api</code>
  * @param {string|bool} asyncvalidation - (optional) If true validation will be done for each input as a value is entered.
+ * @param {number} validationdelay - (optional) Millis after the last input is left,
+ * before the inputs left since the previous validation are validated, together
+ * in one request. Default 300
  * @param {function} onSubmit - (optional) function to handle onSubmit event
  * Takes 2 arguments, the event and an object. The object is of format:
  * <code>
@@ -55,6 +59,12 @@ import log from "./log";
  * @param {number} - initialLoadTimeout - (optional)
  * @param {string} - messageToDisplayOnTimeout - (optional)
  * @param {boolean} logLevel - (optional) Any of: [error|warn|info|debug|trace]
+ * @param {number|string} maxitemsinmultichoice - (optional) Multi-choice fields
+ * with at least this number of choices are rendered as a typeahead, which 
+ * searches the server for choices as the user types.
+ * @param {string} asyncuploadpath - (optional) If present, each file is 
+ * uploaded to this path as soon as it is selected, and the location of the 
+ * uploaded file is then submitted with the form, in place of the file.
  * @param {function} getReferencedFormConfig - (optional)
  * @param {function} getReferencedFormMessage -(optional)
  * 
@@ -114,6 +124,13 @@ class Form extends React.Component {
         this.initialLoadTimeout = props.initialLoadTimeout ? props.initialLoadTimeout : 5000;
         this.initialLoadTimer = null;
         this.setInitialLoadDataTimedout = this.setInitialLoadDataTimedout.bind(this);
+        
+        // Fields left, pending validation, by name
+        this.pendingValidation = {};
+        this.validationDelay = props.validationdelay ? parseInt(props.validationdelay, 10) : 300;
+        this.validationTimer = null;
+        this.validationInFlight = false;
+        this.flushValidation = this.flushValidation.bind(this);
     }
     
     // pendingFormConfig is used to offload the current formConfig if we have
@@ -308,6 +325,9 @@ class Form extends React.Component {
         if(this.initialLoadTimer !== null) {
             clearTimeout(this.initialLoadTimer);
         }
+        if(this.validationTimer !== null) {
+            clearTimeout(this.validationTimer);
+        }
     }
 
     getEventTargetValue(event, formMember) {
@@ -351,6 +371,11 @@ class Form extends React.Component {
         // onChange event is not sent to the server
         if(eventName === "onChange") {
 
+            if(formMember.type === 'file' && value && this.props.asyncuploadpath) {
+                this.uploadFile(name, value);
+                return;
+            }
+
             this.updateValues({ [name]: value });
             
             return;
@@ -362,6 +387,11 @@ class Form extends React.Component {
             return;
         }
         
+        if("onBlur" === eventName) {
+            this.queueValidation(name, value);
+            return;
+        }
+        
         const clientConfig = formDataBuilder.buildHttpConfigForFormMember(
                 this.state.formConfig, eventName, name, value, this.props);
         
@@ -392,6 +422,106 @@ class Form extends React.Component {
         });
     }
 
+    /**
+     * Validation is deferred until no field has been left for 
+     * <code>validationDelay</code> millis, then all the fields left meanwhile
+     * are validated in one request. At most one such request is in flight.
+     */
+    queueValidation(name, value) {
+        this.pendingValidation[name] = value;
+        if(this.validationTimer !== null) {
+            clearTimeout(this.validationTimer);
+        }
+        this.validationTimer = setTimeout(this.flushValidation, this.validationDelay);
+    }
+    
+    flushValidation() {
+        this.validationTimer = null;
+        
+        if(webformStage.isFirst(this.state.context.stage) !== true) {
+            this.pendingValidation = {};
+            return;
+        }
+        
+        const names = Object.keys(this.pendingValidation);
+        if(names.length === 0 || this.validationInFlight === true) {
+            // If in flight, flushed again on completion
+            return;
+        }
+        
+        const values = this.pendingValidation;
+        this.pendingValidation = {};
+        
+        const clientConfig = formDataBuilder.buildHttpConfigForFormMembers(
+                this.state.formConfig, values, this.props);
+        
+        log.trace("Form#flushValidation, submitting: " + clientConfig.path + "\n", clientConfig);
+        
+        this.validationInFlight = true;
+        
+        const onDone = () => {
+            this.validationInFlight = false;
+            if(this.validationTimer === null) {
+                this.flushValidation();
+            }
+        };
+        
+        client(clientConfig).done(response => {
+            formUtil.logResponse(response, "validateFields");
+            this.mergeFieldMessages(response.entity.propertyNames, response.entity.errors);
+            onDone();
+        }, response => {
+            this.onError(response, clientConfig.path);
+            onDone();
+        });
+    }
+    
+    /**
+     * Replace the errors of the validated fields, keeping those of other fields.
+     */
+    mergeFieldMessages(propertyNames = [], errors = []) {
+        this.setState(function(state, props) {
+            const current = state.messages && state.messages.errors ? state.messages.errors : [];
+            const merged = current
+                    .filter((error) => propertyNames.indexOf(error.fieldName) === -1)
+                    .concat(errors ? errors : []);
+            return { messages: { 
+                errors: merged.length > 0 ? merged : null, 
+                infos: state.messages ? state.messages.infos : null 
+            }};
+        });
+    }
+
+    /**
+     * Stream the file as the raw body of a POST, then replace the file in the
+     * form values with the location of the uploaded file.
+     */
+    uploadFile(name, file) {
+        
+        const path = this.props.asyncuploadpath + "?filename=" + encodeURIComponent(file.name);
+        
+        log.trace("Form#uploadFile, submitting: " + path);
+        
+        this.updateValues({ [name]: null });
+        
+        fetch(path, {
+            method: 'POST',
+            headers: { 'Content-Type': file.type ? file.type : 'application/octet-stream' },
+            body: file
+        }).then(response => {
+            if( ! response.ok) {
+                throw new Error("Failed to upload " + file.name + ", status: " + response.status);
+            }
+            return response.json();
+        }).then(upload => {
+            log.trace("Form#uploadFile, uploaded: ", upload);
+            this.updateValues({ [name]: upload.location });
+        }).catch(error => {
+            log.warn("Form#uploadFile", error);
+            this.displayMessages([{"message": error.message}]);
+        });
+    }
+
     isEventAccepted(event, formMember) {
         let accepted;
         if(formMember.multiChoice) {
@@ -657,6 +787,20 @@ class Form extends React.Component {
         return result;
     }
 
+    getModelId(formConfig = this.state.formConfig) {
+        return formConfig.id ? formConfig.id : this.props.id;
+    }
+
+    /**
+     * The posts of a blog are not fields of the form, but are listed when 
+     * the blog is read, a page at a time.
+     */
+    hasRecentPosts(formConfig = this.state.formConfig) {
+        const id = this.getModelId(formConfig);
+        return formConfig.action === "read" && formConfig.modelname === "blog" 
+                && id !== null && id !== undefined && id !== "";
+    }
+
     getFormHeading(formConfig = this.state.formConfig, stage = this.state.context.stage) {
         let result;
         if(this.props.getFormHeading) {
@@ -730,6 +874,7 @@ class Form extends React.Component {
                               id="infos" className="info-message" messages={infos}/>
                 
                 <FormRows {...(this.props)}
+                          formConfig={this.state.formConfig}
                           errors={errors}
                           form={form} 
                           values={this.state.values} 
@@ -739,6 +884,9 @@ class Form extends React.Component {
                           onBlur={this.onBlur}
                           onBeginReferencedForm={this.onBeginReferencedForm}/>
                 
+                {this.hasRecentPosts() ? 
+                    <RecentPosts apibasepath={this.props.apibasepath} id={this.getModelId()}/> : null}
+                
                 <button type="reset" className="button">Reset</button>
                 &nbsp;        
                 <button type="submit" className="button primary-button" 
@@ -40,16 +40,53 @@ const formDataBuilder = {
         return entity;
     },
     
+    /**
+     * Dependents are fetched via GET, so that they may be answered with
+     * <code>304 Not Modified</code> when unchanged. Only the form id, and the
+     * name and value of the changed property are sent, which keeps the query
+     * short whatever the size of the other fields.
+     */
+    newQueryClientConfig: function(path, formConfig, name, value) {
+        const params = { propertyName: name };
+        formUtil.updateValue('fid', params, formConfig);
+        if(value !== null && value !== undefined && typeof value !== 'object') {
+            params[name] = value;
+        }
+        return { method: 'GET', path: path, params: params };
+    },
+    
     buildHttpConfigForFormMember: function(formConfig, eventName, name, value, props) {
         
         const pathSuffix = formDataBuilder.pathSuffixForFormMember(eventName);
         
         const path = formUtil.buildPathFor(props, formConfig, {suffix:pathSuffix, addId:false});
         
-        log.trace("FormDataBuilder#buildClientConfigForFormMember. POST ", path);
+        if(pathSuffix === webformStage.SubStage.DEPENDENTS) {
+            log.trace("FormDataBuilder#buildClientConfigForFormMember. GET ", path);
+            return formDataBuilder.newQueryClientConfig(path, formConfig, name, value);
+        }
         
         const entity = formDataBuilder.forFormMember(formConfig, name, value);
         
+        log.trace("FormDataBuilder#buildClientConfigForFormMember. POST ", path);
+        
+        return formDataBuilder.newFormDataClientConfig(path, entity);
+    },
+    
+    /**
+     * Validate several fields in one request.
+     * @param {object} values - The values of the fields to validate, by name
+     */
+    buildHttpConfigForFormMembers: function(formConfig, values, props) {
+        
+        const path = formUtil.buildPathFor(props, formConfig, 
+                {suffix:webformStage.SubStage.VALIDATE_FIELDS, addId:false});
+        
+        const entity = Object.assign(formUtil.collectConfigData(formConfig), values);
+        entity.propertyNames = Object.keys(values).join(',');
+        
+        log.trace("FormDataBuilder#buildHttpConfigForFormMembers. POST ", path);
+        
         return formDataBuilder.newFormDataClientConfig(path, entity);
     },
     
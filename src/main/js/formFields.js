@@ -2,14 +2,17 @@
 
 import React from 'react';
 import ReactDOM from "react-dom";
+import client from "./client";
 import formUtil from "./formUtil";
 import formMemberUtil from "./formMemberUtil";
+import webformStage from "./webformStage";
 import log from "./log";
 
 const WebformInputClass = {
     FORM_INPUT: "form-input",
     FORM_CHECKBOX: "form-checkbox",
     FORM_SELECT: "form-select",
+    FORM_TYPEAHEAD: "form-typeahead",
     FORM_TEXTAREA: "form-textarea"
 };
 
@@ -121,6 +124,86 @@ class SelectField extends React.Component{
     }
 };
 
+/**
+ * A SelectField preceded by a text input. As the user types into the text
+ * input, the choices of the SelectField are replaced with those matching the 
+ * text typed, searched for on the server.
+ */
+class TypeaheadField extends React.Component{
+    
+    constructor(props) {
+        super(props);
+        this.state = { prefix: "", choices: props.formMember.choices };
+        this.timer = null;
+        this.delay = 250;
+        this.onPrefixChange = this.onPrefixChange.bind(this);
+    }
+    
+    componentWillUnmount() {
+        if(this.timer !== null) {
+            clearTimeout(this.timer);
+        }
+    }
+    
+    onPrefixChange(event) {
+        const prefix = event.target.value;
+        this.setState({ prefix: prefix });
+        if(this.timer !== null) {
+            clearTimeout(this.timer);
+        }
+        this.timer = setTimeout(() => this.search(prefix), this.delay);
+    }
+    
+    search(prefix) {
+        this.timer = null;
+        
+        const name = this.props.formMember.name;
+        
+        let suffix = webformStage.SubStage.TYPEAHEAD + 
+                "?propertyName=" + encodeURIComponent(name) + 
+                "&prefix=" + encodeURIComponent(prefix);
+        
+        // The choices may depend on those of other fields e.g Blog.subtype on Blog.type
+        for(const member of this.props.formConfig.form.members) {
+            const value = member.value;
+            if(member.name !== name && member.choices && formMemberUtil.hasValue(value) 
+                    && typeof value !== 'object') {
+                suffix += "&" + encodeURIComponent(member.name) + "=" + encodeURIComponent(value);
+            }
+        }
+        
+        const path = formUtil.buildPathFor(this.props, this.props.formConfig, {suffix:suffix, addId:false});
+        
+        log.trace("TypeaheadField#search GET ", path);
+        
+        client({ method: 'GET', path: path }).done(response => {
+            // Discard responses to stale searches
+            if(prefix === this.state.prefix) {
+                const choices = response.entity[name];
+                this.setState({ choices: choices ? choices : [] });
+            }
+        }, response => {
+            formUtil.logResponse(response, "TypeaheadField#search", "debug");
+        });
+    }
+    
+    render() {
+        const formMember = Object.assign({}, this.props.formMember, { choices: this.state.choices });
+        return (
+            <div className={WebformInputClass.FORM_TYPEAHEAD}>
+                <input className={WebformInputClass.FORM_INPUT + ' text'} 
+                    type="text"
+                    disabled={this.props.disabled} 
+                    id={formMember.id + '-typeahead'}
+                    value={this.state.prefix}
+                    placeholder={"Search " + formMember.label}
+                    onChange={this.onPrefixChange}/>
+                <SelectField {...(this.props)} formMember={formMember}/>
+            </div>
+        );
+    }
+};
+
 class CheckBoxField extends React.Component{
     /**
      * We do not set checked manually as this our fields are controlled
@@ -147,18 +230,41 @@ class CheckBoxField extends React.Component{
     }
 };
 
+/**
+ * The width requested for previews of images. The server rounds it up to one 
+ * of its variant widths, and returns a resized variant rather than the 
+ * full size image.
+ */
+const IMAGE_PREVIEW_WIDTH = 200;
+
+const IMAGE_EXTENSIONS = /\.(jpe?g|png|gif|bmp)$/i;
+
 /*
  * We display file input as text if the form field is disabled 
+ * If the value of a disabled file field is an image, we display a preview
  */
 class FileField extends React.Component{
     isDisabled() {
         return this.props.disabled === true || this.props.disabled === "true" ? true : false;
     }
+    previewSrc() {
+        const value = formMemberUtil.getValue(this.props);
+        if(typeof value !== 'string' || ! IMAGE_EXTENSIONS.test(value.split('?')[0])) {
+            return null;
+        }
+        return value + (value.indexOf('?') === -1 ? '?' : '&') + 'w=' + IMAGE_PREVIEW_WIDTH;
+    }
     render() {
         const className = WebformInputClass.FORM_INPUT;
+        const previewSrc = this.isDisabled() ? this.previewSrc() : null;
+        const preview = previewSrc === null ? null : 
+                <img className="form-image-preview" src={previewSrc} loading="lazy"
+                    width={IMAGE_PREVIEW_WIDTH} alt={this.props.formMember.label}/>;
 // File input is alway an uncontrolled component in react -> So no value        
 //        value={formMemberUtil.getValue(this.props)}
         return (
+            <React.Fragment>
+            {preview}
             <input className={className + ' ' + this.props.formMember.type} 
                 type={this.isDisabled() ? 'text' : 'file'}
                 disabled={this.props.disabled} 
@@ -174,6 +280,7 @@ class FileField extends React.Component{
                 size={formMemberUtil.getSize(this.props.formMember)}
                 maxLength={formMemberUtil.getMaxLength(this.props.formMember)}
             />
+            </React.Fragment>
         );
     }
 };
@@ -209,6 +316,7 @@ class TextAreaField extends React.Component{
 export {
     InputField,
     SelectField,
+    TypeaheadField,
     CheckBoxField,
     FileField,
     TextAreaField
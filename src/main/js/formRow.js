@@ -4,7 +4,7 @@ import React from "react";
 import ReactDOM from "react-dom";
 import FieldHeading from "./formFieldHeading";
 import {
-    InputField, SelectField, CheckBoxField, FileField, TextAreaField
+    InputField, SelectField, TypeaheadField, CheckBoxField, FileField, TextAreaField
 } from "./formFields";
 import formUtil from "./formUtil";
 import formMemberUtil from "./formMemberUtil";
@@ -26,6 +26,18 @@ class FormRow extends React.Component{
         return formMemberUtil.isMultiChoice(this.props.formMember);
     }
     
+    /**
+     * The choices sent by the server are truncated at maxitemsinmultichoice,
+     * so when that limit is reached, the choices are searched for as the user
+     * types.
+     * @returns {Boolean}
+     */
+    isTypeahead() {
+        const max = parseInt(this.props.maxitemsinmultichoice, 10);
+        const choices = this.props.formMember.choices;
+        return ! isNaN(max) && choices !== null && choices !== undefined && choices.length >= max;
+    }
+    
     /**
      * FormMember.multiChoice is updated from <code>false</code> to <code>true</code>
      * after the multi-choice of a dependent formMember are newly loaded from 
@@ -52,7 +64,17 @@ class FormRow extends React.Component{
         
         let formField;
         
-        if(this.isMultiChoice()) {
+        if(this.isMultiChoice() && this.isTypeahead()) {
+            formField = (<TypeaheadField formid={this.props.form.id}
+                                      formConfig={this.props.formConfig}
+                                      apibasepath={this.props.apibasepath}
+                                      formMember={this.props.formMember}
+                                      value={this.props.value}
+                                      disabled={this.props.disabled}
+                                      onChange={this.props.onChange}
+                                      onClick={this.props.onClick}
+                                      onBlur={this.props.onBlur}/>);
+        }else if(this.isMultiChoice()) {
             formField = (<SelectField formid={this.props.form.id}
                                       formMember={this.props.formMember}
                                       value={this.props.value}
@@ -0,0 +1,78 @@
+'use strict';
+
+import React from "react";
+import client from "./client";
+import formUtil from "./formUtil";
+import log from "./log";
+
+/**
+ * Lists the most recent posts of a blog, then older posts a page at a time.
+ * The first page is loaded with the blog i.e
+ * <code>[apibasepath]/blogs/{id}?graph=blog-with-recent-posts</code>,
+ * subsequent pages by keyset i.e <code>[apibasepath]/blogs/{id}/posts?after=[next]</code>
+ * where <code>[next]</code> is the token returned with the previous page.
+ *
+ * @param {string} apibasepath - (optional) The path to the api (without the domain)
+ * @param {string} id - The id of the blog whose posts will be listed
+ * @param {number} limit - (optional) The number of posts per page. Default 5
+ */
+class RecentPosts extends React.Component {
+
+    constructor(props) {
+        super(props);
+        this.state = { posts: [], next: null };
+        this.onMore = this.onMore.bind(this);
+    }
+
+    componentDidMount() {
+        const path = this.blogPath() + "?graph=blog-with-recent-posts&limit=" + this.limit();
+        this.load(path, (entity) => entity.recentPosts);
+    }
+
+    blogPath() {
+        return formUtil.buildPath(formUtil.apibasepath(this.props), ["blogs", this.props.id]);
+    }
+
+    limit() {
+        return this.props.limit ? this.props.limit : 5;
+    }
+
+    load(path, getPage) {
+
+        log.trace("RecentPosts#load GET ", path);
+
+        client({ method: 'GET', path: path }).done(response => {
+            const page = getPage(response.entity);
+            this.setState((state) => ({
+                posts: state.posts.concat(page.content), next: page.next
+            }));
+        }, response => {
+            formUtil.logResponse(response, "RecentPosts#load", "debug");
+        });
+    }
+
+    onMore(event) {
+        event.preventDefault();
+        const path = this.blogPath() + "/posts?limit=" + this.limit() +
+                "&after=" + encodeURIComponent(this.state.next);
+        this.load(path, (entity) => entity);
+    }
+
+    render() {
+        if(this.state.posts.length === 0) {
+            return null;
+        }
+        const rows = this.state.posts.map(post =>
+                <li key={"recent-post-" + post.id}>{post.title}</li>);
+        return (
+            <div className="recent-posts">
+                <div className="form-heading">Recent posts</div>
+                <ul>{rows}</ul>
+                {this.state.next ?
+                    <button type="button" className="button" onClick={this.onMore}>More</button> : null}
+            </div>
+        );
+    }
+};
+
+export default RecentPosts;
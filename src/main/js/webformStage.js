@@ -18,7 +18,9 @@ const webformStage = {
     
     SubStage: {
         VALIDATE_SINGLE: "validateSingle",
-        DEPENDENTS: "dependents"
+        VALIDATE_FIELDS: "validateFields",
+        DEPENDENTS: "dependents",
+        TYPEAHEAD: "typeahead"
     },
     
     first: function() {
@@ -0,0 +1,49 @@
+-- The schema as formerly generated by spring.jpa.generate-ddl=true
+
+create sequence blog_subtype_seq start with 1 increment by 50;
+
+create table blog_subtype (
+    id bigint not null,
+    name varchar(128) not null,
+    type integer not null,
+    primary key (id)
+);
+
+create table blog (
+    id integer generated by default as identity,
+    handle varchar(64) not null,
+    description varchar(512),
+    type integer not null,
+    subtype_id bigint,
+    enabled boolean not null,
+    image varchar(255),
+    time_created timestamp not null,
+    primary key (id),
+    constraint fk_blog_subtype foreign key (subtype_id) references blog_subtype (id)
+);
+
+create table post (
+    id integer generated by default as identity,
+    title varchar(64) not null,
+    content varchar(10240),
+    time_created timestamp not null,
+    time_modified timestamp not null,
+    image varchar(255),
+    blog integer not null,
+    primary key (id),
+    constraint fk_post_blog foreign key (blog) references blog (id)
+);
+
+create table tag (
+    id integer generated by default as identity,
+    name varchar(255),
+    time_created timestamp not null,
+    primary key (id)
+);
+
+create table tag_post (
+    post integer not null,
+    tag integer not null,
+    constraint fk_tag_post_post foreign key (post) references post (id),
+    constraint fk_tag_post_tag foreign key (tag) references tag (id)
+);
@@ -0,0 +1,12 @@
+-- Keep in step with the @Table/@JoinTable indexes of the entities
+
+-- Dependents of Blog.type, and the select options of BlogSubtype by type
+create index idx_blog_subtype_type on blog_subtype (type, id);
+
+alter table blog add constraint uk_blog_handle unique (handle);
+create index idx_blog_time_created on blog (time_created, id);
+
+create index idx_post_blog_time_created on post (blog, time_created, id);
+create index idx_post_time_created on post (time_created, id);
+
+create index idx_tag_post_tag on tag_post (tag, post);
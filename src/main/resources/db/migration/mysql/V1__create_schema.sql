@@ -0,0 +1,54 @@
+-- The schema as formerly generated by spring.jpa.generate-ddl=true
+
+-- MySQL has no sequences, so the BlogSubtype id sequence is emulated by a table
+create table blog_subtype_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into blog_subtype_seq values (1);
+
+create table blog_subtype (
+    id bigint not null,
+    name varchar(128) not null,
+    type integer not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table blog (
+    id integer not null auto_increment,
+    handle varchar(64) not null,
+    description varchar(512),
+    type integer not null,
+    subtype_id bigint,
+    enabled bit not null,
+    image varchar(255),
+    time_created datetime(6) not null,
+    primary key (id),
+    constraint fk_blog_subtype foreign key (subtype_id) references blog_subtype (id)
+) engine=InnoDB;
+
+create table post (
+    id integer not null auto_increment,
+    title varchar(64) not null,
+    content varchar(10240),
+    time_created datetime(6) not null,
+    time_modified datetime(6) not null,
+    image varchar(255),
+    blog integer not null,
+    primary key (id),
+    constraint fk_post_blog foreign key (blog) references blog (id)
+) engine=InnoDB;
+
+create table tag (
+    id integer not null auto_increment,
+    name varchar(255),
+    time_created datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table tag_post (
+    post integer not null,
+    tag integer not null,
+    constraint fk_tag_post_post foreign key (post) references post (id),
+    constraint fk_tag_post_tag foreign key (tag) references tag (id)
+) engine=InnoDB;
@@ -0,0 +1,87 @@
+package com.looseboxes.webform.react;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that the fields of <code>webform.react.json.ignoredFields</code>
+ * (<code>password</code>) are never serialized, whether of a bean, a map
+ * e.g the model of a form config, or a form config returned by the API.
+ * See {@link IgnoredFieldsLowThroughputIT} for the same checks with
+ * <code>webform.react.json.highThroughput=false</code>.
+ *
+ * @author hp
+ */
+@SpringBootTest(
+        classes={
+            com.looseboxes.webform.react.WebformApplication.class,
+            com.looseboxes.webform.WebformBasePackageClass.class},
+        properties={"webform.react.json.highThroughput=true", "webform.react.json.ignoredFields=password"})
+class IgnoredFieldsIT {
+
+    public static class Account {
+        private final Map<String, Object> settings = new LinkedHashMap<>();
+        public Account() {
+            settings.put("theme", "dark");
+            settings.put("password", "secret");
+        }
+        public String getName() { return "name"; }
+        public String getPassword() { return "secret"; }
+        public Map<String, Object> getSettings() { return settings; }
+    }
+
+    @Autowired private WebApplicationContext context;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Autowired private MappingJackson2HttpMessageConverter messageConverter;
+
+    @Test
+    void entityOutput_ShouldOmitIgnoredFields() throws Exception {
+        for(ObjectMapper mapper : new ObjectMapper[]{objectMapper, messageConverter.getObjectMapper()}) {
+            final JsonNode json = mapper.readTree(mapper.writeValueAsString(new Account()));
+            assertThat(json.path("name").asText()).isEqualTo("name");
+            assertThat(json.path("settings").path("theme").asText()).isEqualTo("dark");
+            assertThat(json.findValue("password")).as(json.toString()).isNull();
+        }
+    }
+
+    @Test
+    void modelOutput_ShouldOmitIgnoredFields() throws Exception {
+        final Map<String, Object> model = new LinkedHashMap<>();
+        model.put("title", "title");
+        model.put("password", "secret");
+        model.put("account", new Account());
+        model.put("nested", Collections.singletonMap("password", "secret"));
+        final JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(
+                Collections.singletonMap("modelobject", model)));
+        assertThat(json.path("modelobject").path("title").asText()).isEqualTo("title");
+        assertThat(json.findValue("password")).as(json.toString()).isNull();
+    }
+
+    @Test
+    void formConfigOutput_ShouldOmitIgnoredFields() throws Exception {
+        final MockHttpServletResponse response = MockMvcBuilders.webAppContextSetup(context).build()
+                .perform(MockMvcRequestBuilders.get(WebformControllerConstants.API_BASEPATH + "/create/blog")
+                        .session(new MockHttpSession()))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        final JsonNode json = objectMapper.readTree(response.getContentAsString());
+        assertThat(json.path("fid").asText()).isNotEmpty();
+        assertThat(json.findValue("password")).as(json.toString()).isNull();
+    }
+}
@@ -0,0 +1,16 @@
+package com.looseboxes.webform.react;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The checks of {@link IgnoredFieldsIT}, with <code>webform.react.json.highThroughput=false</code>
+ *
+ * @author hp
+ */
+@SpringBootTest(
+        classes={
+            com.looseboxes.webform.react.WebformApplication.class,
+            com.looseboxes.webform.WebformBasePackageClass.class},
+        properties={"webform.react.json.highThroughput=false", "webform.react.json.ignoredFields=password"})
+class IgnoredFieldsLowThroughputIT extends IgnoredFieldsIT {
+}
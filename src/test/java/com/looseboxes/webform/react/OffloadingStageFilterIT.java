@@ -0,0 +1,154 @@
+package com.looseboxes.webform.react;
+
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.filter.OncePerRequestFilter;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs form stage requests on a single offloading thread, with a timeout
+ * shorter than the time each request takes, and checks that only the queued
+ * request times out, while the running one is left to complete.
+ *
+ * Requests carrying the {@link #SLEEP_MILLIS} header are answered by a filter
+ * ordered right after the offloading filter, after sleeping for that long.
+ * Those also carrying the {@link #ECHO} header are answered with the value of
+ * the request parameter it names, as decoded by the preceding filters.
+ *
+ * @author hp
+ */
+@SpringBootTest(
+        classes={
+            com.looseboxes.webform.react.WebformApplication.class,
+            com.looseboxes.webform.WebformBasePackageClass.class,
+            OffloadingStageFilterIT.SleepingFilterConfiguration.class},
+        webEnvironment=SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties={
+            "webform.react.execution.mode=async",
+            "webform.react.execution.threads=1",
+            "webform.react.execution.timeoutMillis=500"})
+class OffloadingStageFilterIT {
+
+    private static final String SLEEP_MILLIS = "X-Sleep-Millis";
+
+    private static final String ECHO = "X-Echo-Parameter";
+
+    private static final String PATH = WebformControllerConstants.API_BASEPATH + "/create/blog";
+
+    private static volatile CountDownLatch running = new CountDownLatch(1);
+
+    @Autowired private TestRestTemplate restTemplate;
+
+    @Test
+    void request_WhenRunningBeyondTimeout_ShouldCompleteNormally() {
+        final ResponseEntity<String> response = this.get(1500);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("slept 1500");
+    }
+
+    @Test
+    void request_WhenQueuedBeyondTimeout_ShouldBeServiceUnavailable() throws Exception {
+        running = new CountDownLatch(1);
+        final CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() -> this.get(2000));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Queued behind the first, which occupies the only thread
+        final ResponseEntity<String> second = this.get(0);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(second.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(first).isNotDone();
+
+        final ResponseEntity<String> response = first.get(10, TimeUnit.SECONDS);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("slept 2000");
+    }
+
+    @Test
+    void request_WhenQueued_ShouldDecodeFormContentAsOtherRequests() throws Exception {
+        running = new CountDownLatch(1);
+        final CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() -> this.get(250));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Queued behind the first, then run on its async dispatch. The charset
+        // is not declared, so is that of the character encoding filter
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(SLEEP_MILLIS, "0");
+        headers.set(ECHO, "title");
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        final byte [] body = ("title=" + URLEncoder.encode("Caf\u00e9 \u00fcber", "UTF-8")).getBytes(StandardCharsets.US_ASCII);
+        final ResponseEntity<byte[]> second = restTemplate.exchange(
+                PATH, HttpMethod.POST, new HttpEntity<>(body, headers), byte[].class);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(second.getBody(), StandardCharsets.UTF_8)).isEqualTo("Caf\u00e9 \u00fcber");
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> get(long sleepMillis) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(SLEEP_MILLIS, String.valueOf(sleepMillis));
+        return restTemplate.exchange(PATH, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @TestConfiguration
+    static class SleepingFilterConfiguration {
+        @Bean FilterRegistrationBean<SleepingFilter> sleepingFilter() {
+            final FilterRegistrationBean<SleepingFilter> bean = new FilterRegistrationBean<>(new SleepingFilter());
+            bean.addUrlPatterns(WebformControllerConstants.API_BASEPATH + "/*");
+            bean.setAsyncSupported(true);
+            bean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+            bean.setOrder(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER + 1);
+            return bean;
+        }
+    }
+
+    static class SleepingFilter extends OncePerRequestFilter {
+        @Override
+        protected boolean shouldNotFilterAsyncDispatch() {
+            return false;
+        }
+        @Override
+        protected void doFilterInternal(HttpServletRequest request,
+                HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+            final String sleepMillis = request.getHeader(SLEEP_MILLIS);
+            if(sleepMillis == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            running.countDown();
+            try{
+                Thread.sleep(Long.parseLong(sleepMillis));
+            }catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            final String echo = request.getHeader(ECHO);
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.getOutputStream().write((echo == null ? "slept " + sleepMillis :
+                    request.getParameter(echo)).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.looseboxes.webform.react;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Starts the application under the <code>prod</code> profile, with a file
+ * backed H2 database (in MySQL mode) standing in for MySQL.
+ *
+ * @author hp
+ */
+@SpringBootTest(
+        classes={
+            com.looseboxes.webform.react.WebformApplication.class,
+            com.looseboxes.webform.WebformBasePackageClass.class},
+        properties={
+            "spring.datasource.url=jdbc:h2:file:./target/prod-it/webformdb;MODE=MYSQL;" +
+                    "DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;" +
+                    "INIT=CREATE SCHEMA IF NOT EXISTS webformdb",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.datasource.hikari.maximum-pool-size=4",
+            "spring.datasource.hikari.minimum-idle=4"})
+@ActiveProfiles("prod")
+class ProdProfileIT {
+
+    @Autowired private DataSource dataSource;
+
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void dataSource_WhenProdProfile_ShouldBeTunedHikariPool() {
+        assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+        final HikariDataSource hikari = (HikariDataSource)dataSource;
+        assertThat(hikari.getPoolName()).isEqualTo("webform");
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(4);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(4);
+        assertThat(hikari.getConnectionTimeout()).isEqualTo(5000);
+        assertThat(hikari.getLeakDetectionThreshold()).isEqualTo(20000);
+    }
+
+    @Test
+    void meterRegistry_WhenProdProfile_ShouldHavePoolMetrics() {
+        for(String name : new String[]{"hikaricp.connections.active",
+                "hikaricp.connections.idle", "hikaricp.connections.pending"}) {
+            assertThat(meterRegistry.find(name).tag("pool", "webform").gauge())
+                    .as(name).isNotNull();
+        }
+        assertThat(meterRegistry.find("hikaricp.connections.acquire")
+                .tag("pool", "webform").timer()).isNotNull();
+    }
+}
@@ -0,0 +1,150 @@
+package com.looseboxes.webform.react;
+
+import com.looseboxes.webform.react.domain.Blog;
+import com.looseboxes.webform.react.domain.BlogSubtype;
+import com.looseboxes.webform.react.domain.BlogType;
+import com.looseboxes.webform.react.domain.Post;
+import com.looseboxes.webform.react.services.BlogService;
+import com.looseboxes.webform.react.services.KeysetPageService;
+import com.looseboxes.webform.react.services.SelectOptionService;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Starts the application on the schema created by the Flyway migrations,
+ * which Hibernate validates, then checks via H2 <code>EXPLAIN</code> that the
+ * lookups of the dependents, select option and paging queries are resolved
+ * from an index rather than by a full scan.
+ *
+ * The statements explained are those Hibernate generates for each lookup,
+ * captured via {@link SqlStatementCounter}. H2 explains statements with
+ * unbound parameters.
+ *
+ * H2 renders the access path of each table as a comment i.e
+ * <code>/* [index]: [conditions] *&#47;</code> for an index lookup, and
+ * <code>/* [table].tableScan *&#47;</code> for a full scan.
+ *
+ * @author hp
+ */
+@SpringBootTest(
+        classes={
+            com.looseboxes.webform.react.WebformApplication.class,
+            com.looseboxes.webform.WebformBasePackageClass.class})
+class SchemaIndexIT {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("tableScan", Pattern.CASE_INSENSITIVE);
+
+    /** As issued by KeysetPageService for the last post of a previous page */
+    private static final String AFTER_BY_TIME_CREATED = Base64.getUrlEncoder().withoutPadding().encodeToString(
+            (KeysetPageService.ORDER_BY_TIME_CREATED + "|2020-01-01T00:00:00Z|100").getBytes(StandardCharsets.UTF_8));
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Autowired private SelectOptionService selectOptionService;
+
+    @Autowired private KeysetPageService keysetPageService;
+
+    @Autowired private BlogService blogService;
+
+    @BeforeEach
+    void evictQueryCache() {
+        // Otherwise cacheable queries may be answered without any SQL
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    @Test
+    void dependents_OfBlogType_ShouldLookupBlogSubtypesByTypeIndex() {
+        final EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try{
+            assertIndexLookup(capture(() -> entityManager.createNamedQuery(BlogSubtype.QUERY_FIND_BY_TYPE, BlogSubtype.class)
+                    .setParameter("type", BlogType.FASHION).getResultList()), "type");
+        }finally{
+            entityManager.close();
+        }
+    }
+
+    @Test
+    void selectOptions_OfBlogSubtypeByType_ShouldLookupByTypeIndex() {
+        assertIndexLookup(capture(() -> selectOptionService.getOptions(BlogSubtype.class,
+                Collections.singletonMap("type", BlogType.FASHION), 1L, 20)), "type");
+    }
+
+    @Test
+    void selectOptions_OfPostByBlog_ShouldLookupByBlogIndex() {
+        assertIndexLookup(capture(() -> selectOptionService.getOptions(Post.class,
+                Collections.singletonMap("blog", new Blog(1)), 1, 20)), "blog");
+    }
+
+    @Test
+    void keysetPage_OfPostsOfBlog_ShouldLookupByBlogIndex() {
+        assertIndexLookup(capture(() -> keysetPageService.getPage(Post.class, KeysetPageService.ORDER_BY_TIME_CREATED,
+                Collections.singletonMap("blog", "1"), AFTER_BY_TIME_CREATED, 20)), "blog");
+    }
+
+    @Test
+    void postsOfBlog_ShouldLookupByBlogIndex() {
+        assertIndexLookup(capture(() -> blogService.getPosts(1, null, 20)), "blog");
+    }
+
+    @Test
+    void postsOfBlog_AfterPreviousPage_ShouldLookupByBlogIndex() {
+        assertIndexLookup(capture(() -> blogService.getPosts(1, AFTER_BY_TIME_CREATED, 20)), "blog");
+    }
+
+    // Not issued by any lookup of the application, so explained as written
+
+    @Test
+    void blog_ByHandle_ShouldLookupByUniqueHandleIndex() {
+        assertIndexLookup(Collections.singletonList("SELECT id FROM blog WHERE handle = 'handle'"), "handle");
+    }
+
+    @Test
+    void postsOfTag_ShouldLookupTagPostByTagIndex() {
+        assertIndexLookup(Collections.singletonList("SELECT post FROM tag_post WHERE tag = 1"), "tag");
+    }
+
+    /**
+     * @return The statements Hibernate prepared for the lookup, in order
+     */
+    private List<String> capture(Runnable lookup) {
+        final List<String> statements;
+        SqlStatementCounter.capture();
+        try{
+            lookup.run();
+        }finally{
+            statements = SqlStatementCounter.stopCapture();
+        }
+        return statements;
+    }
+
+    /**
+     * @param statements The statements of a lookup. The first is the query
+     * of the lookup, any others e.g loads of associations must not scan either.
+     * @param column The column the query must be looked up by
+     */
+    private void assertIndexLookup(List<String> statements, String column) {
+        assertThat(statements).as("Captured statements").isNotEmpty();
+        for(String sql : statements) {
+            final String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertThat(plan).as(sql).doesNotContainPattern(TABLE_SCAN);
+        }
+        final String sql = statements.get(0);
+        final String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertThat(plan).as(sql).containsPattern(Pattern.compile(
+                "/\\*\\s*[\\w.\"]+:[^*]*[\\s.\"]" + column + "\"?\\s*=", Pattern.CASE_INSENSITIVE));
+    }
+}
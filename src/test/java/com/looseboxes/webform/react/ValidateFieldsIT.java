@@ -0,0 +1,111 @@
+package com.looseboxes.webform.react;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looseboxes.webform.react.controllers.WebformControllerConstants;
+import com.looseboxes.webform.react.controllers.WebformControllerRest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Validates several fields of a new Post in one request, and checks that only
+ * the named fields are reported, with both binding and constraint errors.
+ *
+ * @author hp
+ */
+@SpringBootTest(
+        classes={
+            com.looseboxes.webform.react.WebformApplication.class,
+            com.looseboxes.webform.WebformBasePackageClass.class})
+class ValidateFieldsIT {
+
+    private static final String PATH = WebformControllerConstants.API_BASEPATH + "/create/post";
+
+    @Autowired private WebApplicationContext context;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    private MockHttpSession session;
+
+    private String fid;
+
+    @BeforeEach
+    void beginForm() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        session = new MockHttpSession();
+        final MockHttpServletResponse response = mockMvc.perform(
+                MockMvcRequestBuilders.get(PATH).session(session)).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        fid = objectMapper.readTree(response.getContentAsString()).path("fid").asText();
+        assertThat(fid).isNotEmpty();
+    }
+
+    @Test
+    void validateFields_WhenValid_ShouldReturnNamesWithoutErrors() throws Exception {
+        final JsonNode result = this.validateFields("title", "title", "A title");
+        assertThat(this.names(result.path("propertyNames"))).containsExactly("title");
+        assertThat(result.path("errors").isArray()).isTrue();
+        assertThat(result.path("errors")).isEmpty();
+    }
+
+    @Test
+    void validateFields_WhenInvalid_ShouldReportBindingAndConstraintErrorsOfNamedFieldsOnly() throws Exception {
+        final JsonNode result = this.validateFields("title,timeCreated",
+                "title", String.join("", Collections.nCopies(65, "x")),
+                "timeCreated", "not a date",
+                // Invalid, but not named
+                "image", String.join("", Collections.nCopies(256, "x")));
+
+        assertThat(this.names(result.path("propertyNames"))).containsExactly("title", "timeCreated");
+
+        final List<String> fieldNames = new ArrayList<>();
+        for(JsonNode error : result.path("errors")) {
+            fieldNames.add(error.path("fieldName").asText());
+            assertThat(error.path("message").asText()).isNotEmpty();
+        }
+        assertThat(fieldNames).containsExactlyInAnyOrder("title", "timeCreated");
+    }
+
+    @Test
+    void validateFields_WhenUnknownProperty_ShouldBeBadRequest() throws Exception {
+        final MockHttpServletResponse response = this.perform("nonexistent", "title", "A title");
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    private JsonNode validateFields(String propertyNames, String... nameValues) throws Exception {
+        final MockHttpServletResponse response = this.perform(propertyNames, nameValues);
+        assertThat(response.getStatus()).isEqualTo(200);
+        return objectMapper.readTree(response.getContentAsString());
+    }
+
+    private MockHttpServletResponse perform(String propertyNames, String... nameValues) throws Exception {
+        final MockHttpServletRequestBuilder request =
+                MockMvcRequestBuilders.post(PATH + '/' + WebformControllerRest.VALIDATE_FIELDS)
+                .session(session).param("fid", fid).param("propertyNames", propertyNames);
+        for(int i=0; i<nameValues.length; i+=2) {
+            request.param(nameValues[i], nameValues[i + 1]);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private List<String> names(JsonNode array) {
+        final List<String> names = new ArrayList<>();
+        array.forEach((node) -> names.add(node.asText()));
+        return names;
+    }
+}
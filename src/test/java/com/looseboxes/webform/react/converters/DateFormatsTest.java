@@ -0,0 +1,82 @@
+package com.looseboxes.webform.react.converters;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @author hp
+ */
+class DateFormatsTest {
+
+    private final DateFormats dateFormats = new DateFormats(
+            Arrays.asList("yyyy-MM-dd HH:mm", "dd MMM yyyy"),
+            Collections.singletonList("yyyy-MM-dd"),
+            Arrays.asList("HH:mm", "HHmm"), ZoneOffset.UTC);
+
+    @Test
+    void shapeOfPattern_ShouldReplaceFieldsAndUnquoteLiterals() {
+        assertThat(DateFormats.shapeOfPattern("yyyy-MM-dd HH:mm")).isEqualTo("dddd-dd-dd dd:dd");
+        assertThat(DateFormats.shapeOfPattern("yyyy-MM-dd'T'HH:mm")).isEqualTo("dddd-dd-ddTdd:dd");
+        assertThat(DateFormats.shapeOfPattern("HH 'o''clock'")).isEqualTo("dd o'clock");
+        assertThat(DateFormats.shapeOfPattern("HH''mm")).isEqualTo("dd'dd");
+    }
+
+    @Test
+    void shapeOfPattern_WhenNotFixedWidth_ShouldReturnNull() {
+        assertThat(DateFormats.shapeOfPattern("dd MMM yyyy")).isNull();
+        assertThat(DateFormats.shapeOfPattern("yyyy-M-d")).isNull();
+        assertThat(DateFormats.shapeOfPattern("HH 'unclosed")).isNull();
+    }
+
+    @Test
+    void unpaddedPattern_ShouldReduceTwoLetterFieldsUnlessAdjacent() {
+        assertThat(DateFormats.unpaddedPattern("yyyy-MM-dd")).isEqualTo("yyyy-M-d");
+        assertThat(DateFormats.unpaddedPattern("HH:mm")).isEqualTo("H:m");
+        assertThat(DateFormats.unpaddedPattern("dd'dd'MM")).isEqualTo("d'dd'M");
+        assertThat(DateFormats.unpaddedPattern("HHmm")).isNull();
+        assertThat(DateFormats.unpaddedPattern("yyyy")).isNull();
+    }
+
+    @Test
+    void parse_WhenFixedWidth_ShouldParse() {
+        assertThat(dateFormats.parse("2020-05-09 09:05")).isEqualTo(this.date(2020, 5, 9, 9, 5));
+        assertThat(dateFormats.parse("2020-05-09")).isEqualTo(this.date(2020, 5, 9, 0, 0));
+        assertThat(dateFormats.parse("09 May 2020")).isEqualTo(this.date(2020, 5, 9, 0, 0));
+    }
+
+    @Test
+    void parse_WhenAdjacentFields_ShouldParseFullWidthOnly() {
+        assertThat(dateFormats.parse("0905")).isEqualTo(this.date(1970, 1, 1, 9, 5));
+        assertThatThrownBy(() -> dateFormats.parse("905")).isInstanceOf(DateTimeParseException.class);
+    }
+
+    @Test
+    void parse_WhenUnpadded_ShouldParse() {
+        assertThat(dateFormats.parse("2020-5-9")).isEqualTo(this.date(2020, 5, 9, 0, 0));
+        assertThat(dateFormats.parse("9:05")).isEqualTo(this.date(1970, 1, 1, 9, 5));
+        assertThat(dateFormats.parse("2020-5-9 9:05")).isEqualTo(this.date(2020, 5, 9, 9, 5));
+    }
+
+    @Test
+    void parse_WhenInvalidDate_ShouldThrow() {
+        assertThatThrownBy(() -> dateFormats.parse("2020-02-30")).isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> dateFormats.parse("2020-2-30")).isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> dateFormats.parse("2020-13-01")).isInstanceOf(DateTimeParseException.class);
+        assertThat(dateFormats.parse("2020-02-29")).isEqualTo(this.date(2020, 2, 29, 0, 0));
+    }
+
+    @Test
+    void format_ShouldUseTheFirstPattern() {
+        assertThat(dateFormats.format(this.date(2020, 5, 9, 9, 5))).isEqualTo("2020-05-09 09:05");
+    }
+
+    private Date date(int year, int month, int day, int hour, int minute) {
+        return Date.from(LocalDateTime.of(year, month, day, hour, minute).toInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,145 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.domain.Blog;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @author hp
+ */
+class ContentStoreTest {
+
+    @TempDir Path dir;
+
+    private ContentStore contentStore;
+
+    @BeforeEach
+    void setUp() {
+        final MockEnvironment env = new MockEnvironment()
+                .withProperty("bcfileupload.outputDir", dir.toString())
+                .withProperty("webform.react.store.orphanTtlMinutes", "1");
+        contentStore = new ContentStore(env, Mockito.mock(EntityManagerFactory.class));
+    }
+
+    @Test
+    void commit_WhenSameContent_ShouldStoreOnce() throws IOException {
+        final String first = this.store("photo.JPG", "content");
+        final String second = this.store(null, "content");
+        final String hash = contentStore.getHash(first).get();
+
+        assertThat(first).endsWith(".jpg");
+        assertThat(contentStore.getHash(second)).contains(hash);
+        assertThat(contentStore.find(hash)).isPresent();
+        assertThat(new String(Files.readAllBytes(contentStore.find(hash).get()), StandardCharsets.UTF_8))
+                .isEqualTo("content");
+        assertThat(contentStore.getHash(this.store(null, "other"))).isNotEqualTo(contentStore.getHash(first));
+    }
+
+    @Test
+    void close_WhenNotCommitted_ShouldDiscardTheContent() throws IOException {
+        try(ContentStore.Writer writer = contentStore.newWriter("a.txt")) {
+            writer.write(ByteBuffer.wrap("discarded".getBytes(StandardCharsets.UTF_8)));
+        }
+        assertThat(contentStore.sweep()).isZero();
+        try(Stream<Path> files = Files.walk(dir).filter(Files::isRegularFile)) {
+            assertThat(files.count()).isZero();
+        }
+    }
+
+    @Test
+    void sweep_ShouldDeleteOnlyStaleUnreferencedFiles() throws IOException {
+        final String orphan = this.store(null, "orphan");
+        final String recent = this.store(null, "recent");
+        final String referenced = this.store(null, "referenced");
+        this.age(orphan);
+        this.age(referenced);
+
+        final Blog blog = new Blog(1);
+        blog.setImage(referenced);
+        contentStore.onEntityChange(new EntityChangeEvent(
+                blog, EntityChangeEvent.Type.CREATED, 1, new String[]{"image"}, null));
+
+        assertThat(contentStore.sweep()).isEqualTo(1);
+        assertThat(this.find(orphan)).isFalse();
+        assertThat(this.find(recent)).isTrue();
+        assertThat(this.find(referenced)).isTrue();
+        assertThat(contentStore.getRefCount(contentStore.getHash(referenced).get())).isEqualTo(1);
+    }
+
+    @Test
+    void onEntityChange_WhenImageAddedOnUpdate_ShouldRetainIt() throws IOException {
+        final String image = this.store(null, "added");
+        this.age(image);
+
+        final Blog blog = new Blog(1);
+        blog.setImage(image);
+        contentStore.onEntityChange(new EntityChangeEvent(blog, EntityChangeEvent.Type.UPDATED, 1,
+                new String[]{"title", "image"}, new Object[]{"title", null}));
+
+        assertThat(contentStore.getRefCount(contentStore.getHash(image).get())).isEqualTo(1);
+        assertThat(contentStore.sweep()).isZero();
+        assertThat(this.find(image)).isTrue();
+    }
+
+    @Test
+    void onEntityChange_WhenImageReplacedOrRemovedOnUpdate_ShouldReleaseIt() throws IOException {
+        final String first = this.store(null, "first");
+        final String second = this.store(null, "second");
+
+        final Blog blog = new Blog(1);
+        blog.setImage(first);
+        contentStore.onEntityChange(new EntityChangeEvent(
+                blog, EntityChangeEvent.Type.CREATED, 1, new String[]{"image"}, null));
+
+        blog.setImage(second);
+        contentStore.onEntityChange(new EntityChangeEvent(
+                blog, EntityChangeEvent.Type.UPDATED, 1, new String[]{"image"}, new Object[]{first}));
+        assertThat(contentStore.getRefCount(contentStore.getHash(first).get())).isZero();
+        assertThat(contentStore.getRefCount(contentStore.getHash(second).get())).isEqualTo(1);
+
+        blog.setImage(null);
+        contentStore.onEntityChange(new EntityChangeEvent(
+                blog, EntityChangeEvent.Type.UPDATED, 1, new String[]{"image"}, new Object[]{second}));
+        assertThat(contentStore.getRefCount(contentStore.getHash(second).get())).isZero();
+    }
+
+    @Test
+    void sweep_WhenStaleFileIsCommittedAgain_ShouldKeepIt() throws IOException {
+        final String location = this.store(null, "content");
+        this.age(location);
+
+        assertThat(this.store(null, "content")).isEqualTo(location);
+
+        assertThat(contentStore.sweep()).isZero();
+        assertThat(this.find(location)).isTrue();
+    }
+
+    private String store(String filename, String content) throws IOException {
+        try(ContentStore.Writer writer = contentStore.newWriter(filename)) {
+            writer.write(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+            return writer.commit();
+        }
+    }
+
+    private boolean find(String location) {
+        return contentStore.find(contentStore.getHash(location).get()).isPresent();
+    }
+
+    private void age(String location) throws IOException {
+        final Path path = contentStore.find(contentStore.getHash(location).get()).get();
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.looseboxes.webform.react.services;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @author hp
+ */
+class KeysetPageServiceTest {
+
+    @Test
+    void decode_ShouldReturnWhatWasEncoded() {
+        final String token = KeysetPageService.encode(KeysetPageService.ORDER_BY_TIME_CREATED, "2020-05-09T09:05:00.123456789Z", "42");
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(KeysetPageService.decode(token, KeysetPageService.ORDER_BY_TIME_CREATED))
+                .containsExactly("2020-05-09T09:05:00.123456789Z", "42");
+
+        final String byId = KeysetPageService.encode(KeysetPageService.ORDER_BY_ID, "", "7");
+        assertThat(KeysetPageService.decode(byId, KeysetPageService.ORDER_BY_ID)).containsExactly("", "7");
+    }
+
+    @Test
+    void decode_WhenOfAnotherOrder_ShouldThrow() {
+        final String token = KeysetPageService.encode(KeysetPageService.ORDER_BY_ID, "", "7");
+        assertThatThrownBy(() -> KeysetPageService.decode(token, KeysetPageService.ORDER_BY_TIME_CREATED))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_WhenMalformed_ShouldThrow() {
+        assertThatThrownBy(() -> KeysetPageService.decode("not base64!", KeysetPageService.ORDER_BY_ID))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPageService.decode(this.base64("id|7"), KeysetPageService.ORDER_BY_ID))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPageService.decode(this.base64("id||"), KeysetPageService.ORDER_BY_ID))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPageService.decode(this.base64("id||7|8"), KeysetPageService.ORDER_BY_ID))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parseTime_ShouldRetainNanos() {
+        final Timestamp time = Timestamp.from(Instant.parse("2020-05-09T09:05:00.123456789Z"));
+        assertThat(KeysetPageService.parseTime(KeysetPageService.formatTime(time))).isEqualTo(time);
+        assertThatThrownBy(() -> KeysetPageService.parseTime("yesterday"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String base64(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
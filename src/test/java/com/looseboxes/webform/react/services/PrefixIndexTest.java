@@ -0,0 +1,72 @@
+package com.looseboxes.webform.react.services;
+
+import com.looseboxes.webform.react.web.SelectOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @author hp
+ */
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.put(1, "Subway");
+        index.put(2, "FASHION sub type 1");
+        index.put(3, "sub");
+        index.put(4, "Submarine sandwich");
+        index.put(5, "Tech");
+    }
+
+    @Test
+    void search_ShouldRankExactThenLabelStartThenShorterThenAlphabetical() {
+        assertThat(this.texts(index.search("SUB", 10)))
+                .containsExactly("sub", "Subway", "Submarine sandwich", "FASHION sub type 1");
+    }
+
+    @Test
+    void search_ShouldMatchWordStartsOnly() {
+        assertThat(this.texts(index.search("type", 10))).containsExactly("FASHION sub type 1");
+        assertThat(index.search("ype", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldReturnEachIdOnce() {
+        index.put(6, "sub sub sub");
+        final List<SelectOption> result = index.search("sub", 10);
+        assertThat(result).extracting(SelectOption::getValue).doesNotHaveDuplicates();
+        assertThat(this.texts(result)).containsOnlyOnce("sub sub sub");
+    }
+
+    @Test
+    void search_ShouldHonourTheLimit() {
+        assertThat(index.search("sub", 2)).hasSize(2);
+        assertThat(index.search("", 3)).hasSize(3);
+    }
+
+    @Test
+    void put_WhenIdExists_ShouldReplaceTheLabel() {
+        index.put(1, "Metro");
+        assertThat(this.texts(index.search("subw", 10))).isEmpty();
+        assertThat(this.texts(index.search("metro", 10))).containsExactly("Metro");
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void remove_ShouldRemoveAllWordsOfTheLabel() {
+        index.remove(2);
+        assertThat(index.search("fashion", 10)).isEmpty();
+        assertThat(index.search("type", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    private List<String> texts(List<SelectOption> options) {
+        return options.stream().map(SelectOption::getText).collect(Collectors.toList());
+    }
+}